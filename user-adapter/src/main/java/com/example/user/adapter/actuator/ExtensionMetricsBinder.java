@@ -0,0 +1,63 @@
+package com.example.user.adapter.actuator;
+
+import com.example.user.domain.extension.ExtensionInvocationStats;
+import com.example.user.domain.extension.ExtensionMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 扩展点调用指标绑定器
+ * 将 {@link ExtensionMetrics} 中的调用统计注册为Micrometer指标（/actuator/metrics/extension.*）
+ *
+ * 指标只在采集时读取统计对象，扩展点调用路径上不经过Micrometer
+ */
+@Component
+@RequiredArgsConstructor
+public class ExtensionMetricsBinder implements MeterBinder {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final ExtensionMetrics extensionMetrics;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        extensionMetrics.addListener(stats -> register(registry, stats));
+    }
+
+    private void register(MeterRegistry registry, ExtensionInvocationStats stats) {
+        Tags tags = Tags.of(
+                "point", stats.getExtensionPoint(),
+                "implementation", stats.getImplementation(),
+                "scenario", stats.getScenario());
+
+        FunctionCounter.builder("extension.invocations", stats, ExtensionInvocationStats::getInvocations)
+                .description("扩展点调用次数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("extension.errors", stats, ExtensionInvocationStats::getErrors)
+                .description("扩展点异常次数")
+                .tags(tags)
+                .register(registry);
+
+        Gauge.builder("extension.latency.p50", stats, s -> s.percentileNanos(0.5) / NANOS_PER_MILLI)
+                .description("扩展点耗时P50")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("extension.latency.p99", stats, s -> s.percentileNanos(0.99) / NANOS_PER_MILLI)
+                .description("扩展点耗时P99")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("extension.latency.max", stats, s -> s.getMaxNanos() / NANOS_PER_MILLI)
+                .description("扩展点最大耗时")
+                .baseUnit("milliseconds")
+                .tags(tags)
+                .register(registry);
+    }
+}
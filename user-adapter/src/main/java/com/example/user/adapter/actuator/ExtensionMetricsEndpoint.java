@@ -0,0 +1,76 @@
+package com.example.user.adapter.actuator;
+
+import com.example.user.domain.extension.ExtensionInvocationStats;
+import com.example.user.domain.extension.ExtensionMetrics;
+import com.example.user.domain.extension.ExtensionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 扩展点监控端点
+ * GET /actuator/extensions：注册表版本、运行期覆盖及各扩展点实现的调用统计
+ *
+ * 只读：Actuator端点未做认证，运行期覆盖会改变风控等扩展点的路由，只能通过 {@link ExtensionRegistry} 在代码中设置
+ */
+@Component
+@Endpoint(id = "extensions")
+@RequiredArgsConstructor
+public class ExtensionMetricsEndpoint {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final ExtensionRegistry extensionRegistry;
+
+    private final ExtensionMetrics extensionMetrics;
+
+    @ReadOperation
+    public Map<String, Object> extensions() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", extensionRegistry.getVersion());
+        result.put("indexBuildTimeMs", extensionRegistry.getBuildTime().toMillis());
+        result.put("extensionPointsWithoutDefault", extensionRegistry.getExtensionPointsWithoutDefault().stream()
+                .map(Class::getSimpleName)
+                .sorted()
+                .toList());
+        result.put("overrides", overrides());
+        result.put("invocations", extensionMetrics.getAll().stream()
+                .sorted(Comparator.comparing(ExtensionInvocationStats::getExtensionPoint)
+                        .thenComparing(ExtensionInvocationStats::getImplementation)
+                        .thenComparing(ExtensionInvocationStats::getScenario))
+                .map(this::toSummary)
+                .toList());
+        return result;
+    }
+
+    private Map<String, Map<String, String>> overrides() {
+        Map<String, Map<String, String>> overrides = new TreeMap<>();
+        extensionRegistry.getOverrides().forEach((extensionPoint, byScenario) -> {
+            Map<String, String> entries = new TreeMap<>();
+            byScenario.forEach((bizScenario, beanName) -> entries.put(bizScenario.getIdentity(), beanName));
+            overrides.put(extensionPoint.getSimpleName(), entries);
+        });
+        return overrides;
+    }
+
+    private Map<String, Object> toSummary(ExtensionInvocationStats stats) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("point", stats.getExtensionPoint());
+        summary.put("implementation", stats.getImplementation());
+        summary.put("scenario", stats.getScenario());
+        summary.put("invocations", stats.getInvocations());
+        summary.put("errors", stats.getErrors());
+        long invocations = stats.getInvocations();
+        summary.put("avgMs", invocations == 0 ? 0 : stats.getTotalNanos() / NANOS_PER_MILLI / invocations);
+        summary.put("p50Ms", stats.percentileNanos(0.5) / NANOS_PER_MILLI);
+        summary.put("p99Ms", stats.percentileNanos(0.99) / NANOS_PER_MILLI);
+        summary.put("maxMs", stats.getMaxNanos() / NANOS_PER_MILLI);
+        return summary;
+    }
+}
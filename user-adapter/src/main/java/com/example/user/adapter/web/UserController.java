@@ -3,8 +3,13 @@ package com.example.user.adapter.web;
 import com.example.user.api.UserServiceI;
 import com.example.user.client.dto.Response;
 import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.cmd.UserActiveCmd;
+import com.example.user.client.dto.cmd.UserBatchRegisterCmd;
+import com.example.user.client.dto.cmd.UserFreezeCmd;
 import com.example.user.client.dto.cmd.UserRegisterCmd;
 import com.example.user.client.dto.query.UserByIdQry;
+import com.example.user.client.dto.query.UserByIdsQry;
+import com.example.user.client.dto.query.UserPageQry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -35,6 +40,39 @@ public class UserController {
         return userService.register(cmd);
     }
 
+    /**
+     * 批量用户注册
+     * POST /api/users/register/batch
+     */
+    @PostMapping("/register/batch")
+    public Response registerBatch(@Valid @RequestBody UserBatchRegisterCmd cmd) {
+        logger.info("收到批量注册请求, size: {}", cmd.getUsers().size());
+        return userService.registerBatch(cmd);
+    }
+
+    /**
+     * 上报用户活跃
+     * POST /api/users/{id}/active
+     */
+    @PostMapping("/{id}/active")
+    public Response markActive(@PathVariable("id") Long id) {
+        UserActiveCmd cmd = new UserActiveCmd();
+        cmd.setUserId(id);
+        return userService.markActive(cmd);
+    }
+
+    /**
+     * 冻结用户
+     * POST /api/users/{id}/freeze
+     */
+    @PostMapping("/{id}/freeze")
+    public Response freeze(@PathVariable("id") Long id) {
+        logger.info("收到冻结用户请求, userId: {}", id);
+        UserFreezeCmd cmd = new UserFreezeCmd();
+        cmd.setUserId(id);
+        return userService.freeze(cmd);
+    }
+
     /**
      * 根据ID查询用户
      * GET /api/users/{id}
@@ -47,6 +85,27 @@ public class UserController {
         return userService.getById(qry);
     }
 
+    /**
+     * 根据ID批量查询用户
+     * POST /api/users/batch-get
+     */
+    @PostMapping("/batch-get")
+    public Response getByIds(@Valid @RequestBody UserByIdsQry qry) {
+        logger.info("收到批量查询用户请求, size: {}", qry.getUserIds().size());
+        return userService.getByIds(qry);
+    }
+
+    /**
+     * 分页检索用户（游标分页）
+     * POST /api/users/search
+     */
+    @PostMapping("/search")
+    public Response search(@Valid @RequestBody UserPageQry qry) {
+        logger.info("收到用户检索请求, status: {}, usernamePrefix: {}, cursor: {}",
+            qry.getStatus(), qry.getUsernamePrefix(), qry.getCursor());
+        return userService.page(qry);
+    }
+
     /**
      * 健康检查
      * GET /api/users/health
@@ -0,0 +1,159 @@
+package com.example.user.adapter.web;
+
+import com.example.user.api.UserServiceI;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.query.UserExportQry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 用户导出控制器
+ * Adapter层：将逐行导出的用户写为CSV或NDJSON，直接输出到HTTP响应
+ *
+ * 数据边读边写，不在内存中累积；客户端声明 Accept-Encoding: gzip 时由容器压缩（server.compression）。
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportController.class);
+
+    private static final String CSV = "text/csv";
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final String CSV_HEADER = "id,username,email,phone,status,registerTime,lastActiveTime";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserServiceI userService;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出用户
+     * GET /api/users/export?format=csv|ndjson
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(value = "format", defaultValue = "csv") String format,
+                       @RequestParam(value = "status", required = false) String status,
+                       @RequestParam(value = "usernamePrefix", required = false) String usernamePrefix,
+                       @RequestParam(value = "registerTimeFrom", required = false)
+                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registerTimeFrom,
+                       @RequestParam(value = "registerTimeTo", required = false)
+                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registerTimeTo,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            writeResponse(response, Response.buildFailure("PARAM_INVALID", "不支持的导出格式: " + format));
+            return;
+        }
+        logger.info("收到用户导出请求, format: {}, status: {}, usernamePrefix: {}", format, status, usernamePrefix);
+
+        UserExportQry qry = new UserExportQry();
+        qry.setStatus(status);
+        qry.setUsernamePrefix(usernamePrefix);
+        qry.setRegisterTimeFrom(registerTimeFrom);
+        qry.setRegisterTimeTo(registerTimeTo);
+
+        response.setContentType(csv ? CSV : NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        Consumer<UserDTO> rowWriter = csv ? user -> writeCsv(writer, user) : user -> writeJson(writer, user);
+        Response result;
+        try {
+            result = userService.export(qry, rowWriter);
+        } catch (UncheckedIOException e) {
+            // 客户端断开连接等写出失败，游标随事务关闭
+            logger.warn("用户导出中断: {}", e.getMessage());
+            return;
+        }
+
+        if (!result.isSuccess()) {
+            // 参数错误时尚未写出任何用户，改为返回统一响应
+            response.reset();
+            writeResponse(response, result);
+            return;
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, UserDTO user) {
+        try {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csvField(user.getUsername()));
+            writer.write(',');
+            writer.write(csvField(user.getEmail()));
+            writer.write(',');
+            writer.write(csvField(user.getPhone()));
+            writer.write(',');
+            writer.write(csvField(user.getStatus()));
+            writer.write(',');
+            writer.write(user.getRegisterTime() != null ? user.getRegisterTime().toString() : "");
+            writer.write(',');
+            writer.write(user.getLastActiveTime() != null ? user.getLastActiveTime().toString() : "");
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(Writer writer, UserDTO user) {
+        try {
+            writer.write(objectMapper.writeValueAsString(user));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * CSV字段转义：包含逗号、引号或换行时加引号，引号双写
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void writeResponse(HttpServletResponse response, Response body) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.user.adapter.web;
+
+import com.example.user.api.UserServiceI;
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserBatchRegisterDTO;
+import com.example.user.client.dto.UserRegisterResultDTO;
+import com.example.user.client.dto.cmd.UserBatchRegisterCmd;
+import com.example.user.client.dto.cmd.UserRegisterCmd;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户流式导入控制器
+ * Adapter层：将NDJSON请求体逐行解析为注册命令，分块交给批量注册用例
+ *
+ * 请求体每行一个 {@link UserRegisterCmd}（空行忽略），响应同样为NDJSON，边处理边输出：
+ * <pre>
+ * {"type":"error","line":3,"errCode":"10003","errMessage":"邮箱已被注册"}
+ * {"type":"progress","processed":500,"success":499,"failure":1}
+ * {"type":"summary","processed":1200,"success":1196,"failure":4}
+ * </pre>
+ * 只有处理完一块才继续读取下一块，读取速度受处理速度约束（TCP背压），
+ * 内存占用只与块大小有关，与文件大小无关。单行超过 max-line-length 个字符时不再缓冲，
+ * 跳过该行其余内容并输出错误事件（没有换行符的大文件同理）。
+ */
+@RestController
+@RequestMapping("/api/users")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final UserServiceI userService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader cmdReader;
+
+    /**
+     * 每块行数（每块调用一次批量注册并输出一次进度）
+     */
+    private final int chunkSize;
+
+    /**
+     * 单行最大字符数
+     */
+    private final int maxLineLength;
+
+    public UserImportController(UserServiceI userService,
+                                ObjectMapper objectMapper,
+                                @Value("${user.import.chunk-size:500}") int chunkSize,
+                                @Value("${user.import.max-line-length:16384}") int maxLineLength) {
+        if (chunkSize <= 0 || chunkSize > UserBatchRegisterCmd.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("user.import.chunk-size必须在1-"
+                    + UserBatchRegisterCmd.MAX_BATCH_SIZE + "之间: " + chunkSize);
+        }
+        if (maxLineLength <= 0) {
+            throw new IllegalArgumentException("user.import.max-line-length必须大于0: " + maxLineLength);
+        }
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.cmdReader = objectMapper.readerFor(UserRegisterCmd.class);
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * 流式导入用户
+     * POST /api/users/import (Content-Type: application/x-ndjson)
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ImportProgress progress = new ImportProgress();
+        OutputStream out = response.getOutputStream();
+        try (LineReader reader = new LineReader(new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)), maxLineLength)) {
+            List<UserRegisterCmd> chunk = new ArrayList<>(chunkSize);
+            List<Long> lineNumbers = new ArrayList<>(chunkSize);
+
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.isOversized()) {
+                    progress.failure++;
+                    progress.processed++;
+                    writeError(out, lineNumber, ErrorCode.PARAM_INVALID.getCode(),
+                            "行长度超过上限: " + maxLineLength + "个字符");
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(cmdReader.readValue(line));
+                    lineNumbers.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    progress.failure++;
+                    progress.processed++;
+                    writeError(out, lineNumber, ErrorCode.PARAM_INVALID.getCode(), "JSON格式错误");
+                }
+
+                if (chunk.size() == chunkSize) {
+                    registerChunk(chunk, lineNumbers, progress, out);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                registerChunk(chunk, lineNumbers, progress, out);
+            }
+        } catch (RuntimeException e) {
+            // 响应已开始输出，无法再改变状态码，以事件行告知调用方导入中断
+            logger.error("用户导入中断, processed: {}", progress.processed, e);
+            writeEvent(out, progress.toEvent("aborted"));
+            out.flush();
+            return;
+        }
+
+        writeEvent(out, progress.toEvent("summary"));
+        out.flush();
+        logger.info("用户导入完成, processed: {}, success: {}, failure: {}",
+                progress.processed, progress.success, progress.failure);
+    }
+
+    /**
+     * 注册一块并输出该块的错误行与进度，处理完成后清空块
+     */
+    private void registerChunk(List<UserRegisterCmd> chunk, List<Long> lineNumbers,
+                               ImportProgress progress, OutputStream out) throws IOException {
+        UserBatchRegisterCmd cmd = new UserBatchRegisterCmd();
+        cmd.setUsers(new ArrayList<>(chunk));
+        Response response = userService.registerBatch(cmd);
+
+        if (!response.isSuccess()) {
+            for (Long lineNumber : lineNumbers) {
+                writeError(out, lineNumber, response.getErrCode(), response.getErrMessage());
+            }
+            progress.failure += chunk.size();
+        } else {
+            UserBatchRegisterDTO result = (UserBatchRegisterDTO) response.getData();
+            for (UserRegisterResultDTO row : result.getResults()) {
+                if (!row.isSuccess()) {
+                    writeError(out, lineNumbers.get(row.getIndex()), row.getErrCode(), row.getErrMessage());
+                }
+            }
+            progress.success += result.getSuccessCount();
+            progress.failure += result.getFailureCount();
+        }
+        progress.processed += chunk.size();
+
+        writeEvent(out, progress.toEvent("progress"));
+        out.flush();
+
+        chunk.clear();
+        lineNumbers.clear();
+    }
+
+    private void writeError(OutputStream out, long lineNumber, String errCode, String errMessage) throws IOException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", "error");
+        event.put("line", lineNumber);
+        event.put("errCode", errCode);
+        event.put("errMessage", errMessage);
+        writeEvent(out, event);
+    }
+
+    private void writeEvent(OutputStream out, Map<String, Object> event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+    }
+
+    /**
+     * 限制行长度的按行读取
+     * 超过上限的行只读取不缓冲，直到换行符为止，返回空串并标记为超长
+     */
+    private static final class LineReader implements Closeable {
+
+        private final Reader in;
+
+        private final int maxLength;
+
+        private final StringBuilder line = new StringBuilder();
+
+        private boolean oversized;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * 读取下一行（不含行尾的 \n 或 \r\n）
+         *
+         * @return 行内容，超长行返回空串，读到末尾返回null
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            oversized = false;
+            int c = in.read();
+            if (c < 0) {
+                return null;
+            }
+            while (c >= 0 && c != '\n') {
+                if (!oversized) {
+                    if (line.length() < maxLength) {
+                        line.append((char) c);
+                    } else if (c != '\r') {
+                        oversized = true;
+                        line.setLength(0);
+                    }
+                }
+                c = in.read();
+            }
+            if (oversized) {
+                return "";
+            }
+            int last = line.length() - 1;
+            if (last >= 0 && line.charAt(last) == '\r') {
+                line.setLength(last);
+            }
+            return line.toString();
+        }
+
+        /**
+         * 上一次读取的行是否超长
+         */
+        boolean isOversized() {
+            return oversized;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * 导入进度
+     */
+    private static final class ImportProgress {
+
+        private long processed;
+        private long success;
+        private long failure;
+
+        Map<String, Object> toEvent(String type) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("type", type);
+            event.put("processed", processed);
+            event.put("success", success);
+            event.put("failure", failure);
+            return event;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.user.app;
 
 import com.example.user.api.UserServiceI;
+import com.example.user.app.executor.UserActiveCmdExe;
+import com.example.user.app.executor.UserBatchRegisterCmdExe;
+import com.example.user.app.executor.UserFreezeCmdExe;
 import com.example.user.app.executor.UserRegisterCmdExe;
 import com.example.user.app.executor.UserByIdQryExe;
+import com.example.user.app.executor.UserByIdsQryExe;
+import com.example.user.app.executor.UserExportQryExe;
+import com.example.user.app.executor.UserPageQryExe;
 import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.cmd.UserActiveCmd;
+import com.example.user.client.dto.cmd.UserBatchRegisterCmd;
+import com.example.user.client.dto.cmd.UserFreezeCmd;
 import com.example.user.client.dto.cmd.UserRegisterCmd;
 import com.example.user.client.dto.query.UserByIdQry;
+import com.example.user.client.dto.query.UserByIdsQry;
+import com.example.user.client.dto.query.UserExportQry;
+import com.example.user.client.dto.query.UserPageQry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Consumer;
+
 /**
  * 用户应用服务
  * 应用层门面，协调各个执行器完成用例
@@ -18,15 +33,51 @@ import org.springframework.stereotype.Service;
 public class UserApplicationService implements UserServiceI {
 
     private final UserRegisterCmdExe userRegisterCmdExe;
+    private final UserBatchRegisterCmdExe userBatchRegisterCmdExe;
+    private final UserActiveCmdExe userActiveCmdExe;
+    private final UserFreezeCmdExe userFreezeCmdExe;
     private final UserByIdQryExe userByIdQryExe;
+    private final UserByIdsQryExe userByIdsQryExe;
+    private final UserPageQryExe userPageQryExe;
+    private final UserExportQryExe userExportQryExe;
 
     @Override
     public Response register(UserRegisterCmd cmd) {
         return userRegisterCmdExe.execute(cmd);
     }
 
+    @Override
+    public Response registerBatch(UserBatchRegisterCmd cmd) {
+        return userBatchRegisterCmdExe.execute(cmd);
+    }
+
+    @Override
+    public Response markActive(UserActiveCmd cmd) {
+        return userActiveCmdExe.execute(cmd);
+    }
+
+    @Override
+    public Response freeze(UserFreezeCmd cmd) {
+        return userFreezeCmdExe.execute(cmd);
+    }
+
     @Override
     public Response getById(UserByIdQry qry) {
         return userByIdQryExe.execute(qry);
     }
+
+    @Override
+    public Response getByIds(UserByIdsQry qry) {
+        return userByIdsQryExe.execute(qry);
+    }
+
+    @Override
+    public Response page(UserPageQry qry) {
+        return userPageQryExe.execute(qry);
+    }
+
+    @Override
+    public Response export(UserExportQry qry, Consumer<UserDTO> consumer) {
+        return userExportQryExe.execute(qry, consumer);
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.user.app.executor;
+
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.cmd.UserActiveCmd;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 上报用户活跃执行器
+ * CQRS: Command执行器处理写操作
+ *
+ * 调用频率极高：用户从缓存读取，最后活跃时间经仓储写缓冲合并后延迟批量落库
+ */
+@Component
+@RequiredArgsConstructor
+public class UserActiveCmdExe {
+
+    private final IUserRepository userRepository;
+
+    /**
+     * 执行命令
+     */
+    public Response execute(UserActiveCmd cmd) {
+        User user = userRepository.findById(cmd.getUserId());
+        if (user == null) {
+            return Response.buildFailure(
+                ErrorCode.USER_NOT_FOUND.getCode(),
+                ErrorCode.USER_NOT_FOUND.getMessage()
+            );
+        }
+
+        user.updateLastActiveTime();
+        userRepository.touch(user);
+        return Response.buildSuccess();
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.user.app.executor;
+
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserBatchRegisterDTO;
+import com.example.user.client.dto.UserRegisterResultDTO;
+import com.example.user.client.dto.cmd.UserBatchRegisterCmd;
+import com.example.user.client.dto.cmd.UserRegisterCmd;
+import com.example.user.domain.gateway.IEmailGateway;
+import com.example.user.domain.gateway.ISmsGateway;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.Email;
+import com.example.user.domain.model.Phone;
+import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserUniqueKey;
+import com.example.user.domain.service.UserDomainService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量用户注册命令执行器
+ * CQRS: Command执行器处理写操作
+ *
+ * 按 chunk-size 分块处理，每块：
+ * <ol>
+ *     <li>逐行参数校验（Bean Validation + 值对象格式）</li>
+ *     <li>一次查询批量检查唯一键，并与本批中已接受的行去重</li>
+ *     <li>一条多行INSERT写入，每块一个事务</li>
+ * </ol>
+ * 某一行失败只影响该行的结果。块提交时若与并发注册发生唯一键冲突，该块回滚后逐行重试，
+ * 仍冲突的行记为"用户已存在"。
+ */
+@Component
+public class UserBatchRegisterCmdExe {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBatchRegisterCmdExe.class);
+
+    private final IUserRepository userRepository;
+    private final IEmailGateway emailGateway;
+    private final ISmsGateway smsGateway;
+    private final UserDomainService userDomainService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 每块行数（一次唯一性查询、一条INSERT、一个事务）
+     */
+    private final int chunkSize;
+
+    public UserBatchRegisterCmdExe(IUserRepository userRepository,
+                                   IEmailGateway emailGateway,
+                                   ISmsGateway smsGateway,
+                                   UserDomainService userDomainService,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${user.batch.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("user.batch.chunk-size必须大于0: " + chunkSize);
+        }
+        this.userRepository = userRepository;
+        this.emailGateway = emailGateway;
+        this.smsGateway = smsGateway;
+        this.userDomainService = userDomainService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 执行批量注册
+     */
+    public Response execute(UserBatchRegisterCmd cmd) {
+        List<UserRegisterCmd> rows = cmd.getUsers();
+        BatchContext context = new BatchContext(rows.size());
+
+        long start = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, rows.size());
+            registerChunk(rows, from, to, context);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        UserBatchRegisterDTO result = context.toDTO();
+        logger.info("批量注册完成, total: {}, success: {}, failure: {}, 耗时: {}ms",
+            result.getTotal(), result.getSuccessCount(), result.getFailureCount(), elapsedMillis);
+        return Response.buildSuccess(result);
+    }
+
+    /**
+     * 注册一个分块
+     */
+    private void registerChunk(List<UserRegisterCmd> rows, int from, int to, BatchContext context) {
+        // 1. 逐行参数校验
+        List<Integer> valid = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            UserRegisterResultDTO failure = validate(i, rows.get(i));
+            if (failure != null) {
+                context.results[i] = failure;
+            } else {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // 2. 批量唯一性校验（一次查询），按 邮箱 → 手机号 → 用户名 的顺序报错
+        Map<UserUniqueKey, Set<String>> existing = userDomainService.findExistingKeys(
+            valid.stream().map(i -> rows.get(i).getEmail()).toList(),
+            valid.stream().map(i -> rows.get(i).getPhone()).toList(),
+            valid.stream().map(i -> rows.get(i).getUsername()).toList());
+
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        List<User> users = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            UserRegisterCmd row = rows.get(i);
+            ErrorCode conflict = context.claim(row, existing);
+            if (conflict != null) {
+                context.results[i] = UserRegisterResultDTO.failure(i, conflict.getCode(), conflict.getMessage());
+                continue;
+            }
+            User user = buildUser(row);
+            user.register(userDomainService.encryptPassword(row.getPassword()));
+            accepted.add(i);
+            users.add(user);
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        // 3. 多行INSERT，一块一个事务
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+            for (int k = 0; k < accepted.size(); k++) {
+                context.results[accepted.get(k)] = UserRegisterResultDTO.success(accepted.get(k), users.get(k).getId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("批量插入唯一键冲突，逐行重试, rows: [{}, {})", from, to);
+            saveOneByOne(accepted, users, context);
+        }
+
+        // 4. 发送通知
+        for (int i : accepted) {
+            if (context.results[i].isSuccess()) {
+                sendNotifications(rows.get(i), context.results[i]);
+            }
+        }
+    }
+
+    /**
+     * 逐行保存（块插入冲突时的降级路径）
+     */
+    private void saveOneByOne(List<Integer> accepted, List<User> users, BatchContext context) {
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = accepted.get(k);
+            User user = users.get(k);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+                context.results[index] = UserRegisterResultDTO.success(index, user.getId());
+            } catch (DataIntegrityViolationException e) {
+                context.results[index] = UserRegisterResultDTO.failure(index,
+                    ErrorCode.USER_ALREADY_EXISTS.getCode(), ErrorCode.USER_ALREADY_EXISTS.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 单行参数校验
+     * 返回null表示校验通过，否则返回该行的失败结果
+     */
+    private UserRegisterResultDTO validate(int index, UserRegisterCmd row) {
+        if (row == null) {
+            return UserRegisterResultDTO.failure(index, ErrorCode.PARAM_INVALID.getCode(), "注册信息不能为空");
+        }
+
+        Set<ConstraintViolation<UserRegisterCmd>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return UserRegisterResultDTO.failure(index,
+                ErrorCode.PARAM_INVALID.getCode(), violations.iterator().next().getMessage());
+        }
+
+        if (!Email.isValid(row.getEmail())) {
+            return UserRegisterResultDTO.failure(index, ErrorCode.PARAM_INVALID.getCode(), "邮箱格式不正确");
+        }
+
+        if (!Phone.isValid(row.getPhone())) {
+            return UserRegisterResultDTO.failure(index, ErrorCode.PARAM_INVALID.getCode(), "手机号格式不正确");
+        }
+
+        return null;
+    }
+
+    /**
+     * 构建用户领域对象
+     */
+    private User buildUser(UserRegisterCmd cmd) {
+        User user = new User();
+        user.setUsername(cmd.getUsername());
+        user.setEmail(new Email(cmd.getEmail()));
+        user.setPhone(new Phone(cmd.getPhone()));
+        return user;
+    }
+
+    /**
+     * 发送通知
+     * 注意：邮件和短信发送失败不影响注册结果
+     */
+    private void sendNotifications(UserRegisterCmd cmd, UserRegisterResultDTO result) {
+        try {
+            if (Boolean.TRUE.equals(cmd.getSendEmail())
+                    && !emailGateway.sendWelcomeEmail(cmd.getEmail(), cmd.getUsername())) {
+                logger.warn("欢迎邮件发送失败, email: {}", cmd.getEmail());
+            }
+        } catch (Exception e) {
+            logger.error("发送邮件异常, userId: {}", result.getUserId(), e);
+        }
+
+        try {
+            if (Boolean.TRUE.equals(cmd.getSendSms())
+                    && !smsGateway.sendRegisterSms(cmd.getPhone(), cmd.getUsername())) {
+                logger.warn("注册短信发送失败, phone: {}", cmd.getPhone());
+            }
+        } catch (Exception e) {
+            logger.error("发送短信异常, userId: {}", result.getUserId(), e);
+        }
+    }
+
+    /**
+     * 单次批量注册的状态：逐行结果及本批已占用的唯一键
+     */
+    private static final class BatchContext {
+
+        private final UserRegisterResultDTO[] results;
+
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private final Set<String> usernames = new HashSet<>();
+
+        BatchContext(int size) {
+            this.results = new UserRegisterResultDTO[size];
+        }
+
+        /**
+         * 检查一行的唯一键是否已被数据库或本批前面的行占用，未占用则登记
+         *
+         * @return 冲突对应的错误码，无冲突时返回null
+         */
+        ErrorCode claim(UserRegisterCmd row, Map<UserUniqueKey, Set<String>> existing) {
+            if (existing.get(UserUniqueKey.EMAIL).contains(row.getEmail()) || emails.contains(row.getEmail())) {
+                return ErrorCode.EMAIL_ALREADY_EXISTS;
+            }
+            if (existing.get(UserUniqueKey.PHONE).contains(row.getPhone()) || phones.contains(row.getPhone())) {
+                return ErrorCode.PHONE_ALREADY_EXISTS;
+            }
+            if (existing.get(UserUniqueKey.USERNAME).contains(row.getUsername()) || usernames.contains(row.getUsername())) {
+                return ErrorCode.USER_ALREADY_EXISTS;
+            }
+            emails.add(row.getEmail());
+            phones.add(row.getPhone());
+            usernames.add(row.getUsername());
+            return null;
+        }
+
+        UserBatchRegisterDTO toDTO() {
+            int successCount = (int) Arrays.stream(results).filter(UserRegisterResultDTO::isSuccess).count();
+            return UserBatchRegisterDTO.builder()
+                .total(results.length)
+                .successCount(successCount)
+                .failureCount(results.length - successCount)
+                .results(Arrays.asList(results))
+                .build();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.example.user.domain.gateway.IUserRepository;
 import com.example.user.domain.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 根据ID查询用户执行器
@@ -23,7 +24,9 @@ public class UserByIdQryExe {
 
     /**
      * 执行查询
+     * 只读事务：启用读写分离时路由到只读库（用户经缓存读取，缓存未命中时从主库加载）
      */
+    @Transactional(readOnly = true)
     public Response execute(UserByIdQry qry) {
         User user = userRepository.findById(qry.getUserId());
 
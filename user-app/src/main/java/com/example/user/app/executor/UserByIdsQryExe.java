@@ -0,0 +1,63 @@
+package com.example.user.app.executor;
+
+import com.example.user.app.assembler.UserAssembler;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserBatchGetDTO;
+import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.query.UserByIdsQry;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据ID批量查询用户执行器
+ * CQRS: Query执行器处理读操作
+ *
+ * 一次查询取回全部用户，再按请求顺序排列，替代调用方逐个查询的N次往返
+ */
+@Component
+@RequiredArgsConstructor
+public class UserByIdsQryExe {
+
+    private final IUserRepository userRepository;
+    private final UserAssembler userAssembler;
+
+    /**
+     * 执行查询
+     * 只读事务：启用读写分离时路由到只读库（用户经缓存读取，缓存未命中时从主库加载）
+     */
+    @Transactional(readOnly = true)
+    public Response execute(UserByIdsQry qry) {
+        List<Long> ids = qry.getUserIds();
+
+        Map<Long, User> found = new HashMap<>();
+        for (User user : userRepository.findByIds(ids)) {
+            found.put(user.getId(), user);
+        }
+
+        List<User> ordered = new ArrayList<>(ids.size());
+        Set<Long> missingIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            User user = found.get(id);
+            ordered.add(user);
+            if (user == null) {
+                missingIds.add(id);
+            }
+        }
+
+        List<UserDTO> users = userAssembler.toDTOList(ordered);
+        return Response.buildSuccess(UserBatchGetDTO.builder()
+                .users(users)
+                .missingIds(new ArrayList<>(missingIds))
+                .build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.user.app.executor;
+
+import com.example.user.app.assembler.UserAssembler;
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.constant.UserStatus;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.query.UserExportQry;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.UserSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+/**
+ * 导出用户执行器
+ * CQRS: Query执行器处理读操作
+ *
+ * 通过数据库游标逐行读取，每行转换为DTO后立即交给调用方写出，内存占用与数据量无关。
+ * 游标需要在整个遍历期间保持连接，因此在只读事务内执行（启用读写分离时路由到只读库）。
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExportQryExe {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportQryExe.class);
+
+    private final IUserRepository userRepository;
+    private final UserAssembler userAssembler;
+
+    /**
+     * 执行导出
+     *
+     * @param consumer 每个用户回调一次（按用户ID升序）
+     * @return 响应结果，导出行数在data中
+     */
+    @Transactional(readOnly = true)
+    public Response execute(UserExportQry qry, Consumer<UserDTO> consumer) {
+        UserStatus status = null;
+        if (qry.getStatus() != null && !qry.getStatus().isEmpty()) {
+            try {
+                status = UserStatus.valueOf(qry.getStatus());
+            } catch (IllegalArgumentException e) {
+                return Response.buildFailure(ErrorCode.PARAM_INVALID.getCode(), "用户状态不正确: " + qry.getStatus());
+            }
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria(
+            status, qry.getRegisterTimeFrom(), qry.getRegisterTimeTo(), qry.getUsernamePrefix());
+
+        long start = System.nanoTime();
+        long count = userRepository.scan(criteria, user -> consumer.accept(userAssembler.toDTO(user)));
+        logger.info("用户导出完成, count: {}, 耗时: {}ms", count, (System.nanoTime() - start) / 1_000_000);
+
+        return Response.buildSuccess(count);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.user.app.executor;
+
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.cmd.UserFreezeCmd;
+import com.example.user.domain.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 冻结用户执行器
+ * CQRS: Command执行器处理写操作
+ *
+ * 经 {@link UserUpdateTemplate} 更新：与其他修改并发时按版本号检测冲突并重试，不加行锁
+ */
+@Component
+@RequiredArgsConstructor
+public class UserFreezeCmdExe {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserFreezeCmdExe.class);
+
+    private final UserUpdateTemplate userUpdateTemplate;
+
+    /**
+     * 执行命令
+     */
+    public Response execute(UserFreezeCmd cmd) {
+        User user = userUpdateTemplate.update(cmd.getUserId(), User::freeze);
+        if (user == null) {
+            return Response.buildFailure(
+                ErrorCode.USER_NOT_FOUND.getCode(),
+                ErrorCode.USER_NOT_FOUND.getMessage()
+            );
+        }
+        logger.info("用户已冻结, userId: {}", user.getId());
+        return Response.buildSuccess();
+    }
+}
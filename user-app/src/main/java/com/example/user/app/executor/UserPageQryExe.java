@@ -0,0 +1,64 @@
+package com.example.user.app.executor;
+
+import com.example.user.app.assembler.UserAssembler;
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.constant.UserStatus;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserPageDTO;
+import com.example.user.client.dto.query.UserPageQry;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 分页查询用户执行器
+ * CQRS: Query执行器处理读操作
+ *
+ * 游标分页：多取一条判断是否还有下一页，本页最后一个用户的ID即下一页游标
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPageQryExe {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final IUserRepository userRepository;
+    private final UserAssembler userAssembler;
+
+    /**
+     * 执行查询
+     * 只读事务：启用读写分离时路由到只读库
+     */
+    @Transactional(readOnly = true)
+    public Response execute(UserPageQry qry) {
+        UserStatus status = null;
+        if (qry.getStatus() != null && !qry.getStatus().isEmpty()) {
+            try {
+                status = UserStatus.valueOf(qry.getStatus());
+            } catch (IllegalArgumentException e) {
+                return Response.buildFailure(ErrorCode.PARAM_INVALID.getCode(), "用户状态不正确: " + qry.getStatus());
+            }
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria(
+            status, qry.getRegisterTimeFrom(), qry.getRegisterTimeTo(), qry.getUsernamePrefix());
+        int pageSize = qry.getPageSize() != null ? qry.getPageSize() : DEFAULT_PAGE_SIZE;
+
+        List<User> users = userRepository.search(criteria, qry.getCursor(), pageSize + 1);
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+
+        return Response.buildSuccess(UserPageDTO.builder()
+            .users(userAssembler.toDTOList(users))
+            .nextCursor(hasMore ? users.get(users.size() - 1).getId() : null)
+            .hasMore(hasMore)
+            .build());
+    }
+}
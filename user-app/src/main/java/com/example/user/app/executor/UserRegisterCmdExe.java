@@ -9,6 +9,7 @@ import com.example.user.domain.gateway.IUserRepository;
 import com.example.user.domain.model.User;
 import com.example.user.domain.model.Email;
 import com.example.user.domain.model.Phone;
+import com.example.user.domain.model.UserUniqueKey;
 import com.example.user.domain.service.UserDomainService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -16,6 +17,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 /**
  * 用户注册命令执行器
  * CQRS: Command执行器处理写操作
@@ -81,24 +84,25 @@ public class UserRegisterCmdExe {
             );
         }
 
-        // 校验邮箱是否已存在
-        if (userDomainService.isEmailExists(cmd.getEmail())) {
+        // 校验邮箱、手机号、用户名是否已存在（一次查询，按 邮箱 → 手机号 → 用户名 的顺序报错）
+        Set<UserUniqueKey> conflicts = userDomainService.findConflicts(
+            cmd.getEmail(), cmd.getPhone(), cmd.getUsername());
+
+        if (conflicts.contains(UserUniqueKey.EMAIL)) {
             return Response.buildFailure(
                 ErrorCode.EMAIL_ALREADY_EXISTS.getCode(),
                 ErrorCode.EMAIL_ALREADY_EXISTS.getMessage()
             );
         }
 
-        // 校验手机号是否已存在
-        if (userDomainService.isPhoneExists(cmd.getPhone())) {
+        if (conflicts.contains(UserUniqueKey.PHONE)) {
             return Response.buildFailure(
                 ErrorCode.PHONE_ALREADY_EXISTS.getCode(),
                 ErrorCode.PHONE_ALREADY_EXISTS.getMessage()
             );
         }
 
-        // 校验用户名是否已存在
-        if (userDomainService.isUsernameExists(cmd.getUsername())) {
+        if (conflicts.contains(UserUniqueKey.USERNAME)) {
             return Response.buildFailure(
                 ErrorCode.USER_ALREADY_EXISTS.getCode(),
                 ErrorCode.USER_ALREADY_EXISTS.getMessage()
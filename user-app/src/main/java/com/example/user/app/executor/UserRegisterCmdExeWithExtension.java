@@ -10,6 +10,7 @@ import com.example.user.domain.gateway.IEmailGateway;
 import com.example.user.domain.gateway.ISmsGateway;
 import com.example.user.domain.gateway.IUserRepository;
 import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserUniqueKey;
 import com.example.user.domain.service.UserDomainService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 /**
  * 用户注册命令执行器（使用扩展点）
@@ -92,20 +94,23 @@ public class UserRegisterCmdExeWithExtension {
     }
 
     /**
-     * 校验数据唯一性
+     * 校验数据唯一性（一次查询）
      */
     private void validateUniqueness(UserRegisterCmd cmd) {
-        if (userDomainService.isEmailExists(cmd.getEmail())) {
+        Set<UserUniqueKey> conflicts = userDomainService.findConflicts(
+                cmd.getEmail(), cmd.getPhone(), cmd.getUsername());
+
+        if (conflicts.contains(UserUniqueKey.EMAIL)) {
             throw com.example.user.client.exception.BizException.of(
                     com.example.user.client.exception.ErrorCode.EMAIL_ALREADY_EXISTS);
         }
 
-        if (userDomainService.isPhoneExists(cmd.getPhone())) {
+        if (conflicts.contains(UserUniqueKey.PHONE)) {
             throw com.example.user.client.exception.BizException.of(
                     com.example.user.client.exception.ErrorCode.PHONE_ALREADY_EXISTS);
         }
 
-        if (userDomainService.isUsernameExists(cmd.getUsername())) {
+        if (conflicts.contains(UserUniqueKey.USERNAME)) {
             throw com.example.user.client.exception.BizException.of(
                     com.example.user.client.exception.ErrorCode.USER_ALREADY_EXISTS);
         }
@@ -0,0 +1,85 @@
+package com.example.user.app.executor;
+
+import com.example.user.client.exception.OptimisticLockException;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 用户更新模板（加载 - 修改 - 乐观锁更新，冲突时重新加载重试）
+ * 供修改用户的Command执行器使用
+ *
+ * 不加行锁：并发修改同一用户时，版本号落后的一方更新失败（{@link OptimisticLockException}），
+ * 在新事务中重新加载最新数据、重放修改后再次更新；重试 max-attempts 次仍冲突则抛出异常。
+ * 修改逻辑可能被执行多次，只应修改传入的用户对象，不应有其他副作用。
+ */
+@Component
+public class UserUpdateTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserUpdateTemplate.class);
+
+    /**
+     * 重试前的随机等待上限（毫秒），错开冲突的请求
+     */
+    private static final int MAX_BACKOFF_MILLIS = 20;
+
+    private final IUserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAttempts;
+
+    public UserUpdateTemplate(IUserRepository userRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${user.optimistic-lock.max-attempts:3}") int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("user.optimistic-lock.max-attempts必须大于0: " + maxAttempts);
+        }
+        this.userRepository = userRepository;
+        // 每次尝试独立事务：冲突时回滚本次的全部写入，重试读到的是最新提交的数据
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 加载用户、执行修改并更新
+     *
+     * @param userId   用户ID
+     * @param mutation 对用户的修改（可能被执行多次）
+     * @return 更新后的用户；用户不存在时返回null
+     * @throws OptimisticLockException 重试次数用尽仍冲突
+     */
+    public User update(Long userId, Consumer<User> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    User user = userRepository.findById(userId);
+                    if (user == null) {
+                        return null;
+                    }
+                    mutation.accept(user);
+                    return userRepository.update(user);
+                });
+            } catch (OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("用户更新冲突，重试{}次后放弃, userId: {}", attempt, userId);
+                    throw e;
+                }
+                logger.debug("用户更新冲突，重新加载后重试, userId: {}, version: {}, attempt: {}",
+                    userId, e.getExpectedVersion(), attempt);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(MAX_BACKOFF_MILLIS + 1) * 1_000_000L);
+            }
+        }
+    }
+}
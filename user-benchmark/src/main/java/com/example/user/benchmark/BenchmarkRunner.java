@@ -0,0 +1,32 @@
+package com.example.user.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * 与 JMH 默认入口的命令行参数一致，并始终启用GC分析器，输出每次操作的分配字节数（gc.alloc.rate.norm）
+ *
+ * <pre>
+ * java -jar user-benchmark/target/benchmarks.jar                      # 全部基准
+ * java -jar user-benchmark/target/benchmarks.jar ExtensionExecutor -p scenario=VIP.register
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.user.benchmark;
+
+import com.example.user.domain.extension.BizScenario;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * 基准测试公共场景
+ * 业务场景组合取自 domain 层 impl 包中已注册的扩展点实现
+ */
+final class BenchmarkScenarios {
+
+    /**
+     * 扩展点实现所在的包（只加载扩展点相关Bean，不启动Web和数据源）
+     */
+    static final String EXTENSION_PACKAGE = "com.example.user.domain.extension";
+
+    /**
+     * 场景组合，覆盖精确命中、按 useCase 命中、DEFAULT 回退和兜底实现
+     */
+    static final String[] MIX = {
+            "VIP.register",
+            "VIP.withdraw",
+            "VIP.payment",
+            "ENTERPRISE.register",
+            "ENTERPRISE.payment",
+            "NEW_USER.login",
+            "NEW_USER.register",
+            "DEFAULT.login",
+            "DEFAULT.withdraw",
+            "DEFAULT.register.email"
+    };
+
+    private BenchmarkScenarios() {
+    }
+
+    /**
+     * 启动只包含扩展点的Spring容器（刷新完成时已预构建路由表）
+     */
+    static AnnotationConfigApplicationContext newContext() {
+        return new AnnotationConfigApplicationContext(EXTENSION_PACKAGE);
+    }
+
+    /**
+     * 解析 bizId.useCase.scenario 格式的场景描述
+     */
+    static String[] parts(String identity) {
+        String[] parts = identity.split("\\.", -1);
+        return new String[]{
+                parts[0],
+                parts.length > 1 ? parts[1] : null,
+                parts.length > 2 ? parts[2] : null
+        };
+    }
+
+    static BizScenario parse(String identity) {
+        String[] parts = parts(identity);
+        return BizScenario.valueOf(parts[0], parts[1], parts[2]);
+    }
+
+    static BizScenario[] parseMix() {
+        BizScenario[] scenarios = new BizScenario[MIX.length];
+        for (int i = 0; i < MIX.length; i++) {
+            scenarios[i] = parse(MIX[i]);
+        }
+        return scenarios;
+    }
+}
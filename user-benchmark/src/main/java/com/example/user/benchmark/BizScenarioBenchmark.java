@@ -0,0 +1,83 @@
+package com.example.user.benchmark;
+
+import com.example.user.domain.extension.BizScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BizScenario 基准测试：创建（驻留查找）、匹配和哈希
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BizScenarioBenchmark {
+
+    @Param({
+            "VIP.register",
+            "VIP.withdraw",
+            "ENTERPRISE.payment",
+            "NEW_USER.login",
+            "DEFAULT.register.email",
+            "UNKNOWN.login"
+    })
+    public String scenario;
+
+    private String bizId;
+
+    private String useCase;
+
+    private String scene;
+
+    private BizScenario bizScenario;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] parts = BenchmarkScenarios.parts(scenario);
+        // 复制字符串，避免与常量池中的实例同一，贴近请求参数解析后的真实情况
+        bizId = new String(parts[0]);
+        useCase = parts[1] != null ? new String(parts[1]) : null;
+        scene = parts[2] != null ? new String(parts[2]) : null;
+        bizScenario = BizScenario.valueOf(bizId, useCase, scene);
+    }
+
+    @Benchmark
+    public BizScenario valueOf() {
+        return BizScenario.valueOf(bizId, useCase, scene);
+    }
+
+    /**
+     * 与 VIP 实现的坐标匹配
+     */
+    @Benchmark
+    public boolean matchesBizId() {
+        return bizScenario.matches("VIP", null, null);
+    }
+
+    /**
+     * 与 DEFAULT.register.email 坐标匹配
+     */
+    @Benchmark
+    public boolean matchesFullCoordinate() {
+        return bizScenario.matches("DEFAULT", "register", "email");
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return bizScenario.hashCode();
+    }
+}
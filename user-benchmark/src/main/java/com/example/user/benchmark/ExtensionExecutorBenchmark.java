@@ -0,0 +1,113 @@
+package com.example.user.benchmark;
+
+import com.example.user.domain.extension.BizScenario;
+import com.example.user.domain.extension.ExtensionExecutor;
+import com.example.user.domain.extension.OrderDiscountExtPt;
+import com.example.user.domain.extension.RiskCheckExtPt;
+import com.example.user.domain.extension.UserValidatorExtPt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 扩展点路由与调用基准测试
+ *
+ * 调用逻辑只返回/消费扩展点实例本身，测量的是框架开销（路由 + 调用统计），不含业务逻辑耗时。
+ * 按场景参数化，另有 *Mixed 基准在整个场景组合上轮询，模拟真实流量。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtensionExecutorBenchmark {
+
+    @Param({
+            "VIP.register",
+            "VIP.withdraw",
+            "ENTERPRISE.payment",
+            "NEW_USER.login",
+            "DEFAULT.register.email",
+            "UNKNOWN.login"
+    })
+    public String scenario;
+
+    private AnnotationConfigApplicationContext context;
+
+    private ExtensionExecutor executor;
+
+    private BizScenario bizScenario;
+
+    private BizScenario[] mix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkScenarios.newContext();
+        executor = context.getBean(ExtensionExecutor.class);
+        bizScenario = BenchmarkScenarios.parse(scenario);
+        mix = BenchmarkScenarios.parseMix();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 按 useCase 路由（RiskCheckExtPt）
+     */
+    @Benchmark
+    public RiskCheckExtPt getExtensionByUseCase() {
+        return executor.getExtension(RiskCheckExtPt.class, bizScenario);
+    }
+
+    /**
+     * 按 bizId 路由（OrderDiscountExtPt）
+     */
+    @Benchmark
+    public OrderDiscountExtPt getExtensionByBizId() {
+        return executor.getExtension(OrderDiscountExtPt.class, bizScenario);
+    }
+
+    @Benchmark
+    public RiskCheckExtPt execute() {
+        return executor.execute(RiskCheckExtPt.class, bizScenario, extension -> extension);
+    }
+
+    @Benchmark
+    public void executeVoid(Blackhole blackhole) {
+        executor.executeVoid(UserValidatorExtPt.class, bizScenario, blackhole::consume);
+    }
+
+    /**
+     * 在场景组合上轮询路由（与 @Param 无关，各参数下结果应一致）
+     */
+    @Benchmark
+    public void getExtensionMixed(Blackhole blackhole) {
+        for (BizScenario each : mix) {
+            blackhole.consume(executor.getExtension(RiskCheckExtPt.class, each));
+        }
+    }
+
+    @Benchmark
+    public void executeMixed(Blackhole blackhole) {
+        for (BizScenario each : mix) {
+            blackhole.consume(executor.execute(RiskCheckExtPt.class, each, extension -> extension));
+        }
+    }
+}
@@ -2,8 +2,16 @@ package com.example.user.api;
 
 import com.example.user.client.dto.Response;
 import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.cmd.UserActiveCmd;
+import com.example.user.client.dto.cmd.UserBatchRegisterCmd;
+import com.example.user.client.dto.cmd.UserFreezeCmd;
 import com.example.user.client.dto.cmd.UserRegisterCmd;
 import com.example.user.client.dto.query.UserByIdQry;
+import com.example.user.client.dto.query.UserByIdsQry;
+import com.example.user.client.dto.query.UserExportQry;
+import com.example.user.client.dto.query.UserPageQry;
+
+import java.util.function.Consumer;
 
 /**
  * 用户服务接口
@@ -19,6 +27,30 @@ public interface UserServiceI {
      */
     Response register(UserRegisterCmd cmd);
 
+    /**
+     * 批量用户注册
+     *
+     * @param cmd 批量注册命令
+     * @return 响应结果，逐行注册结果（{@link com.example.user.client.dto.UserBatchRegisterDTO}）在data中
+     */
+    Response registerBatch(UserBatchRegisterCmd cmd);
+
+    /**
+     * 上报用户活跃（更新最后活跃时间，延迟批量落库）
+     *
+     * @param cmd 活跃命令
+     * @return 响应结果
+     */
+    Response markActive(UserActiveCmd cmd);
+
+    /**
+     * 冻结用户（乐观锁更新，并发冲突时自动重试）
+     *
+     * @param cmd 冻结命令
+     * @return 响应结果
+     */
+    Response freeze(UserFreezeCmd cmd);
+
     /**
      * 根据ID查询用户
      *
@@ -26,4 +58,29 @@ public interface UserServiceI {
      * @return 用户信息，用户数据在data中
      */
     Response getById(UserByIdQry qry);
+
+    /**
+     * 根据ID批量查询用户
+     *
+     * @param qry 查询条件
+     * @return 按请求顺序排列的用户信息及不存在的ID（{@link com.example.user.client.dto.UserBatchGetDTO}）在data中
+     */
+    Response getByIds(UserByIdsQry qry);
+
+    /**
+     * 分页检索用户（游标分页）
+     *
+     * @param qry 检索条件及游标
+     * @return 本页用户及下一页游标（{@link com.example.user.client.dto.UserPageDTO}）在data中
+     */
+    Response page(UserPageQry qry);
+
+    /**
+     * 流式导出用户
+     *
+     * @param qry      导出条件
+     * @param consumer 每个用户回调一次（按用户ID升序），用户数据不在内存中累积
+     * @return 响应结果，导出行数在data中
+     */
+    Response export(UserExportQry qry, Consumer<UserDTO> consumer);
 }
@@ -12,6 +12,7 @@ public enum ErrorCode {
     PHONE_ALREADY_EXISTS("10004", "手机号已被注册"),
     INVALID_PASSWORD("10005", "密码格式不正确"),
     USER_FROZEN("10006", "用户已被冻结"),
+    USER_CONCURRENT_MODIFIED("10008", "用户已被其他操作修改，请重试"),
 
     // 通知相关错误码 (2xxxx)
     EMAIL_SEND_FAILED("20001", "邮件发送失败"),
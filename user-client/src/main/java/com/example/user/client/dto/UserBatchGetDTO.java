@@ -0,0 +1,31 @@
+package com.example.user.client.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量查询用户结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchGetDTO {
+
+    /**
+     * 用户信息，与请求ID一一对应（顺序一致，不存在的用户为null）
+     */
+    private List<UserDTO> users;
+
+    /**
+     * 不存在的用户ID（去重，按请求顺序，按字符串输出）
+     */
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    private List<Long> missingIds;
+}
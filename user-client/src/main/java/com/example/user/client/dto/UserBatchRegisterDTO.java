@@ -0,0 +1,38 @@
+package com.example.user.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量注册结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRegisterDTO {
+
+    /**
+     * 总行数
+     */
+    private int total;
+
+    /**
+     * 成功行数
+     */
+    private int successCount;
+
+    /**
+     * 失败行数
+     */
+    private int failureCount;
+
+    /**
+     * 逐行结果，与请求顺序一致
+     */
+    private List<UserRegisterResultDTO> results;
+}
@@ -1,5 +1,7 @@
 package com.example.user.client.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,8 +20,9 @@ import java.time.LocalDateTime;
 public class UserDTO {
 
     /**
-     * 用户ID
+     * 用户ID（雪花ID超过 2^53，按字符串输出）
      */
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     /**
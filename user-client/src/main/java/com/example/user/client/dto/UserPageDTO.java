@@ -0,0 +1,36 @@
+package com.example.user.client.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户分页结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDTO {
+
+    /**
+     * 本页用户，按用户ID倒序
+     */
+    private List<UserDTO> users;
+
+    /**
+     * 下一页游标，没有下一页时为null（按字符串输出）
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,62 @@
+package com.example.user.client.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单行注册结果
+ * 批量注册中每一行对应一个结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegisterResultDTO {
+
+    /**
+     * 行号（请求列表中的下标，从0开始）
+     */
+    private Integer index;
+
+    /**
+     * 是否注册成功
+     */
+    private boolean success;
+
+    /**
+     * 用户ID（成功时，按字符串输出）
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long userId;
+
+    /**
+     * 错误码（失败时）
+     */
+    private String errCode;
+
+    /**
+     * 错误信息（失败时）
+     */
+    private String errMessage;
+
+    public static UserRegisterResultDTO success(int index, Long userId) {
+        return UserRegisterResultDTO.builder()
+                .index(index)
+                .success(true)
+                .userId(userId)
+                .build();
+    }
+
+    public static UserRegisterResultDTO failure(int index, String errCode, String errMessage) {
+        return UserRegisterResultDTO.builder()
+                .index(index)
+                .success(false)
+                .errCode(errCode)
+                .errMessage(errMessage)
+                .build();
+    }
+}
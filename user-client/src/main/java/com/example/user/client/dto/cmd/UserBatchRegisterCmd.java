@@ -0,0 +1,32 @@
+package com.example.user.client.dto.cmd;
+
+import com.example.user.client.dto.Command;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * 批量用户注册命令
+ * CQRS: Command对象用于写操作
+ *
+ * 单行的参数校验在执行器中逐行进行，某一行不合法只影响该行的结果，不会拒绝整批
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserBatchRegisterCmd extends Command {
+
+    /**
+     * 单次请求最多行数（更大的文件请使用流式导入）
+     */
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    /**
+     * 待注册用户，结果按此顺序返回
+     */
+    @NotEmpty(message = "注册用户列表不能为空")
+    @Size(max = MAX_BATCH_SIZE, message = "单次最多注册" + MAX_BATCH_SIZE + "个用户")
+    private List<UserRegisterCmd> users;
+}
@@ -0,0 +1,21 @@
+package com.example.user.client.dto.cmd;
+
+import com.example.user.client.dto.Command;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 冻结用户命令
+ * CQRS: Command对象用于写操作
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserFreezeCmd extends Command {
+
+    /**
+     * 用户ID
+     */
+    @NotNull(message = "用户ID不能为空")
+    private Long userId;
+}
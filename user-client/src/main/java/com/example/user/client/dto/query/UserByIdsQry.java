@@ -0,0 +1,35 @@
+package com.example.user.client.dto.query;
+
+import com.example.user.client.dto.Query;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * 根据ID批量查询用户
+ * CQRS: Query对象用于读操作
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserByIdsQry extends Query {
+
+    /**
+     * 单次最多查询的ID数
+     */
+    public static final int MAX_IDS = 1000;
+
+    /**
+     * 用户ID列表，结果按此顺序返回（允许重复）
+     * 接受字符串或数字，JavaScript 客户端应传字符串以免超过 2^53 的ID丢失精度
+     */
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    @NotEmpty(message = "用户ID列表不能为空")
+    @Size(max = MAX_IDS, message = "单次最多查询" + MAX_IDS + "个用户")
+    private List<@NotNull(message = "用户ID不能为空") Long> userIds;
+}
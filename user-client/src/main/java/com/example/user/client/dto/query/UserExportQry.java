@@ -0,0 +1,38 @@
+package com.example.user.client.dto.query;
+
+import com.example.user.client.dto.Query;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导出用户
+ * CQRS: Query对象用于读操作
+ *
+ * 条件均为空时导出全部用户，按用户ID升序
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserExportQry extends Query {
+
+    /**
+     * 用户状态（INACTIVE、ACTIVE、FROZEN）
+     */
+    private String status;
+
+    /**
+     * 注册时间下限（含）
+     */
+    private LocalDateTime registerTimeFrom;
+
+    /**
+     * 注册时间上限（不含）
+     */
+    private LocalDateTime registerTimeTo;
+
+    /**
+     * 用户名前缀
+     */
+    private String usernamePrefix;
+}
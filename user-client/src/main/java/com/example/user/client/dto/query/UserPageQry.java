@@ -0,0 +1,55 @@
+package com.example.user.client.dto.query;
+
+import com.example.user.client.dto.Query;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 分页查询用户
+ * CQRS: Query对象用于读操作
+ *
+ * 按用户ID倒序（新用户在前）的游标分页：首页不传 cursor，
+ * 之后每页传入上一页返回的 nextCursor，翻到多深都只扫描一页的数据
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserPageQry extends Query {
+
+    /**
+     * 用户状态（INACTIVE、ACTIVE、FROZEN）
+     */
+    private String status;
+
+    /**
+     * 注册时间下限（含）
+     */
+    private LocalDateTime registerTimeFrom;
+
+    /**
+     * 注册时间上限（不含）
+     */
+    private LocalDateTime registerTimeTo;
+
+    /**
+     * 用户名前缀
+     */
+    @Size(max = 20, message = "用户名前缀最长20个字符")
+    private String usernamePrefix;
+
+    /**
+     * 游标：上一页返回的 nextCursor，首页为空
+     */
+    private Long cursor;
+
+    /**
+     * 每页条数
+     */
+    @Min(value = 1, message = "每页条数最少为1")
+    @Max(value = 100, message = "每页条数最多为100")
+    private Integer pageSize = 20;
+}
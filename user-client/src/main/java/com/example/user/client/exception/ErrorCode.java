@@ -20,6 +20,7 @@ public enum ErrorCode {
     INVALID_PASSWORD("10005", "密码格式不正确", ErrorLevel.BIZ),
     USER_FROZEN("10006", "用户已被冻结", ErrorLevel.BIZ),
     USER_INACTIVE("10007", "用户未激活", ErrorLevel.BIZ),
+    USER_CONCURRENT_MODIFIED("10008", "用户已被其他操作修改，请重试", ErrorLevel.BIZ),
 
     // ==================== 通知相关错误码 (2xxxx) ====================
     EMAIL_SEND_FAILED("20001", "邮件发送失败", ErrorLevel.BIZ),
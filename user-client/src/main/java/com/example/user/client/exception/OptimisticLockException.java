@@ -0,0 +1,36 @@
+package com.example.user.client.exception;
+
+/**
+ * 乐观锁冲突异常
+ * 更新时版本号与数据库不一致：读取之后数据已被其他操作修改（或已删除）
+ *
+ * 可恢复：重新加载最新数据后重试即可
+ */
+public class OptimisticLockException extends BizException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 冲突的用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 更新时期望的版本号
+     */
+    private final Integer expectedVersion;
+
+    public OptimisticLockException(Long userId, Integer expectedVersion) {
+        super(ErrorCode.USER_CONCURRENT_MODIFIED);
+        this.userId = userId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getExpectedVersion() {
+        return expectedVersion;
+    }
+}
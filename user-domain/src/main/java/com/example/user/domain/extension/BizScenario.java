@@ -1,6 +1,9 @@
 package com.example.user.domain.extension;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 业务场景
@@ -11,9 +14,33 @@ import java.util.Objects;
  * - bizId: VIP（VIP客户）
  * - useCase: register（注册场景）
  * - scenario: email（邮箱注册）
+ *
+ * 通过 valueOf / of / defaultScenario 创建的实例会被驻留（intern）：
+ * 相同的三元组始终返回同一个规范实例，哈希值在构造时预先计算，
+ * 因此可以直接作为扩展点解析缓存的键，重复请求不会产生新对象。
  */
 public class BizScenario {
 
+    /**
+     * 驻留池上限，防止动态拼接的场景值无限占用内存
+     * 超过上限后返回普通（非规范）实例，功能不受影响，只是不再命中解析缓存
+     */
+    private static final int MAX_INTERNED = 4096;
+
+    /**
+     * 驻留池中null维度的占位键
+     */
+    private static final String NONE = "";
+
+    /**
+     * 驻留池：bizId → useCase → scenario → 规范实例
+     */
+    private static final Map<String, Map<String, Map<String, BizScenario>>> INTERNED = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger INTERNED_COUNT = new AtomicInteger();
+
+    private static final BizScenario DEFAULT = valueOf("DEFAULT", null, null);
+
     /**
      * 业务身份（如：VIP, NORMAL, TMALL, TAOBAO）
      */
@@ -29,38 +56,94 @@ public class BizScenario {
      */
     private final String scenario;
 
-    private BizScenario(String bizId, String useCase, String scenario) {
+    /**
+     * 预先计算的哈希值
+     */
+    private final int hash;
+
+    /**
+     * 是否为驻留池中的规范实例
+     */
+    private final boolean canonical;
+
+    private BizScenario(String bizId, String useCase, String scenario, boolean canonical) {
         this.bizId = bizId;
         this.useCase = useCase;
         this.scenario = scenario;
+        this.canonical = canonical;
+
+        int h = bizId != null ? bizId.hashCode() : 0;
+        h = 31 * h + (useCase != null ? useCase.hashCode() : 0);
+        h = 31 * h + (scenario != null ? scenario.hashCode() : 0);
+        this.hash = h;
     }
 
     /**
      * 创建业务场景
      */
     public static BizScenario valueOf(String bizId, String useCase, String scenario) {
-        return new BizScenario(bizId, useCase, scenario);
+        return intern(emptyToNull(bizId), emptyToNull(useCase), emptyToNull(scenario));
     }
 
     /**
      * 创建业务场景（无场景）
      */
     public static BizScenario valueOf(String bizId, String useCase) {
-        return new BizScenario(bizId, useCase, null);
+        return valueOf(bizId, useCase, null);
     }
 
     /**
      * 创建默认业务场景
      */
     public static BizScenario defaultScenario() {
-        return new BizScenario("DEFAULT", null, null);
+        return DEFAULT;
     }
 
     /**
      * 仅指定业务身份
      */
     public static BizScenario of(String bizId) {
-        return new BizScenario(bizId, null, null);
+        return valueOf(bizId, null, null);
+    }
+
+    /**
+     * 获取规范实例：命中驻留池时只做三次哈希查找，不分配对象
+     */
+    private static BizScenario intern(String bizId, String useCase, String scenario) {
+        Map<String, BizScenario> byScenario = INTERNED
+                .getOrDefault(keyOf(bizId), Map.of())
+                .getOrDefault(keyOf(useCase), Map.of());
+        BizScenario interned = byScenario.get(keyOf(scenario));
+        if (interned != null) {
+            return interned;
+        }
+
+        if (INTERNED_COUNT.get() >= MAX_INTERNED) {
+            return new BizScenario(bizId, useCase, scenario, false);
+        }
+
+        return INTERNED
+                .computeIfAbsent(keyOf(bizId), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(keyOf(useCase), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(keyOf(scenario), k -> {
+                    INTERNED_COUNT.incrementAndGet();
+                    return new BizScenario(bizId, useCase, scenario, true);
+                });
+    }
+
+    private static String keyOf(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return (value == null || value.isEmpty()) ? null : value;
+    }
+
+    /**
+     * 是否为规范实例（可作为解析缓存的键）
+     */
+    public boolean isCanonical() {
+        return canonical;
     }
 
     /**
@@ -109,14 +192,16 @@ public class BizScenario {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BizScenario that = (BizScenario) o;
-        return Objects.equals(bizId, that.bizId) &&
+        if (canonical && that.canonical) return false;
+        return hash == that.hash &&
+                Objects.equals(bizId, that.bizId) &&
                 Objects.equals(useCase, that.useCase) &&
                 Objects.equals(scenario, that.scenario);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(bizId, useCase, scenario);
+        return hash;
     }
 
     @Override
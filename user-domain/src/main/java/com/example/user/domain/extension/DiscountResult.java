@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * 订单优惠结果
@@ -93,6 +95,31 @@ public class DiscountResult {
                 .build();
     }
 
+    /**
+     * 叠加多个优惠结果：优惠金额求和（不超过订单金额），说明依次拼接
+     * 用于 ExtensionExecutor.executeAll 组合多个优惠扩展点
+     */
+    public static DiscountResult stack(List<DiscountResult> results, BigDecimal originalAmount) {
+        BigDecimal total = BigDecimal.ZERO;
+        StringJoiner description = new StringJoiner("；");
+        boolean freeShipping = false;
+
+        for (DiscountResult result : results) {
+            total = total.add(result.calculateFinalDiscount(originalAmount));
+            if (result.getDescription() != null) {
+                description.add(result.getDescription());
+            }
+            freeShipping = freeShipping || result.isFreeShipping();
+        }
+
+        return DiscountResult.builder()
+                .discountType(DiscountType.AMOUNT)
+                .discountAmount(total.min(originalAmount))
+                .freeShipping(freeShipping)
+                .description(description.toString())
+                .build();
+    }
+
     /**
      * 计算最终优惠金额（需要原始订单金额）
      */
@@ -0,0 +1,15 @@
+package com.example.user.domain.extension;
+
+/**
+ * 扩展点实现描述（编译期从 @Extension 注解读取）
+ *
+ * @param implementation 扩展点实现类
+ * @param bizId          业务身份
+ * @param useCase        用例，未指定时为 ""
+ * @param scenario       场景，未指定时为 ""
+ */
+public record ExtensionDescriptor(Class<? extends ExtensionPointI> implementation,
+                                  String bizId,
+                                  String useCase,
+                                  String scenario) {
+}
@@ -1,12 +1,30 @@
 package com.example.user.domain.extension;
 
+import com.example.user.client.exception.BaseException;
 import com.example.user.client.exception.SysException;
+import com.example.user.domain.extension.ExtensionRoutingTable.ExtensionRoute;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 扩展点执行器
@@ -22,22 +40,62 @@ import java.util.concurrent.ConcurrentHashMap;
  *     BizScenario.valueOf("VIP", "register"),
  *     ext -> ext.validate(user));
  * </pre>
+ *
+ * 路由表由 {@link ExtensionRegistry} 在容器刷新完成时为所有扩展点一次性构建，
+ * 请求路径上不再触发Bean扫描和注解反射；注册表支持运行期热更新，每次调用读取当前快照。
+ *
+ * 需要组合多个实现时使用 executeAll 扇出执行全部匹配的扩展点，并由归并器合并结果：
+ * <pre>
+ * RiskCheckResult result = extensionExecutor.executeAll(RiskCheckExtPt.class,
+ *     BizScenario.valueOf("VIP", "withdraw"),
+ *     ext -> ext.check(userId, amount, context),
+ *     RiskCheckResult::mostRisky,
+ *     Duration.ofMillis(200));
+ * </pre>
+ *
+ * 扩展点包含I/O时可使用 executeAsync / executeVoidAsync，同一用例内相互独立的扩展点调用可以重叠执行。
+ * 异步任务默认运行在内置的有界线程池上，声明名为 {@value #TASK_EXECUTOR_BEAN_NAME} 的 Executor Bean 可替换；
+ * 提交任务时会将调用线程的MDC（traceId等）传递到执行线程。
+ * 取消返回的Future（或扇出执行超时）会中断正在执行的任务；线程池饱和时任务被拒绝，Future以异常完成，
+ * 不会退化为在调用线程上同步执行。
+ *
+ * 每次调用按 (扩展点, 实现类, 业务场景) 记录调用次数、异常次数和耗时直方图，见 {@link ExtensionMetrics}。
  */
 @Slf4j
 @Component
-public class ExtensionExecutor {
+public class ExtensionExecutor implements DisposableBean {
 
     /**
-     * 扩展点实现缓存
-     * Key: 扩展点接口类名
-     * Value: List<扩展点实现>
+     * 自定义扩展点异步执行线程池的Bean名称
      */
-    private final Map<Class<?>, List<ExtensionCoordinate>> extensionCache = new ConcurrentHashMap<>();
+    public static final String TASK_EXECUTOR_BEAN_NAME = "extensionTaskExecutor";
 
-    private final ApplicationContextHelper applicationContextHelper;
+    /**
+     * 内置线程池队列容量，队列满时拒绝新任务（背压）
+     */
+    private static final int TASK_QUEUE_CAPACITY = 1024;
+
+    /**
+     * 扩展点注册表（路由表快照）
+     */
+    private final ExtensionRegistry extensionRegistry;
 
-    public ExtensionExecutor(ApplicationContextHelper applicationContextHelper) {
-        this.applicationContextHelper = applicationContextHelper;
+    /**
+     * 扇出执行和异步执行使用的线程池
+     */
+    private final Executor taskExecutor;
+
+    /**
+     * 内置线程池（未配置自定义线程池时创建，随Bean销毁关闭）
+     */
+    private final ThreadPoolExecutor ownedTaskExecutor;
+
+    public ExtensionExecutor(ExtensionRegistry extensionRegistry,
+                             @Qualifier(TASK_EXECUTOR_BEAN_NAME) ObjectProvider<Executor> taskExecutorProvider) {
+        this.extensionRegistry = extensionRegistry;
+        Executor customExecutor = taskExecutorProvider.getIfAvailable();
+        this.ownedTaskExecutor = customExecutor == null ? newTaskExecutor() : null;
+        this.taskExecutor = customExecutor != null ? customExecutor : ownedTaskExecutor;
     }
 
     /**
@@ -54,91 +112,394 @@ public class ExtensionExecutor {
             BizScenario bizScenario,
             ExtensionInvoker<T, R> executor) {
 
-        // 获取扩展点实现
-        T extension = getExtension(extensionPoint, bizScenario);
+        return invoke(requireRoute(extensionPoint, bizScenario), executor);
+    }
 
-        if (extension == null) {
-            throw new SysException("EXTENSION_NOT_FOUND",
-                    "未找到扩展点实现: " + extensionPoint.getSimpleName() + ", 场景: " + bizScenario);
+    /**
+     * 执行扩展点（无返回值）
+     */
+    public <T extends ExtensionPointI> void executeVoid(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvokerVoid<T> executor) {
+
+        ExtensionRoute route = requireRoute(extensionPoint, bizScenario);
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            executor.invoke(extensionOf(route));
+            success = true;
+        } finally {
+            route.stats().record(System.nanoTime() - start, success);
         }
+    }
 
-        log.debug("执行扩展点: interface={}, scenario={}, impl={}",
-                extensionPoint.getSimpleName(), bizScenario, extension.getClass().getSimpleName());
+    /**
+     * 异步执行扩展点（在默认线程池上执行）
+     */
+    public <T extends ExtensionPointI, R> CompletableFuture<R> executeAsync(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvoker<T, R> executor) {
+        return executeAsync(extensionPoint, bizScenario, executor, taskExecutor);
+    }
+
+    /**
+     * 异步执行扩展点（在指定线程池上执行）
+     * 扩展点在调用线程上完成路由，未找到实现时返回异常完成的Future
+     *
+     * @param taskExecutor 执行扩展点的线程池
+     * @return 扩展点执行结果
+     */
+    public <T extends ExtensionPointI, R> CompletableFuture<R> executeAsync(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvoker<T, R> executor,
+            Executor taskExecutor) {
 
-        return executor.invoke(extension);
+        ExtensionRoute route;
+        try {
+            route = requireRoute(extensionPoint, bizScenario);
+        } catch (SysException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(route, executor, taskExecutor).future();
     }
 
     /**
-     * 执行扩展点（无返回值）
+     * 异步执行扩展点（无返回值，在默认线程池上执行）
      */
-    public <T extends ExtensionPointI> void executeVoid(
+    public <T extends ExtensionPointI> CompletableFuture<Void> executeVoidAsync(
             Class<T> extensionPoint,
             BizScenario bizScenario,
             ExtensionInvokerVoid<T> executor) {
+        return executeVoidAsync(extensionPoint, bizScenario, executor, taskExecutor);
+    }
+
+    /**
+     * 异步执行扩展点（无返回值，在指定线程池上执行）
+     */
+    public <T extends ExtensionPointI> CompletableFuture<Void> executeVoidAsync(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvokerVoid<T> executor,
+            Executor taskExecutor) {
+        return executeAsync(extensionPoint, bizScenario, extension -> {
+            executor.invoke(extension);
+            return null;
+        }, taskExecutor);
+    }
+
+    /**
+     * 执行全部匹配的扩展点（顺序执行）
+     *
+     * @param extensionPoint 扩展点接口类
+     * @param bizScenario    业务场景
+     * @param executor       执行逻辑
+     * @param reducer        结果归并器，按特异度降序接收各实现的结果
+     * @return 归并后的结果
+     */
+    public <T extends ExtensionPointI, R> R executeAll(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvoker<T, R> executor,
+            ExtensionReducer<R> reducer) {
 
-        T extension = getExtension(extensionPoint, bizScenario);
+        List<ExtensionRoute> routes = requireRoutes(extensionPoint, bizScenario);
+
+        List<R> results = new ArrayList<>(routes.size());
+        for (ExtensionRoute route : routes) {
+            results.add(invoke(route, executor));
+        }
+        return reducer.reduce(results);
+    }
+
+    /**
+     * 执行全部匹配的扩展点（在默认线程池上并行执行）
+     *
+     * @param timeout 整体截止时间，超时未完成的分支会被中断
+     */
+    public <T extends ExtensionPointI, R> R executeAll(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvoker<T, R> executor,
+            ExtensionReducer<R> reducer,
+            Duration timeout) {
+        return executeAll(extensionPoint, bizScenario, executor, reducer, taskExecutor, timeout);
+    }
+
+    /**
+     * 执行全部匹配的扩展点（在指定线程池上并行执行）
+     * 总耗时取决于最慢的分支，而不是各分支耗时之和；超时、中断或任一分支失败时中断其余未完成的分支
+     *
+     * @param taskExecutor 执行分支的线程池，饱和时拒绝的分支按失败处理
+     * @param timeout      整体截止时间，超时未完成的分支会被中断
+     */
+    public <T extends ExtensionPointI, R> R executeAll(
+            Class<T> extensionPoint,
+            BizScenario bizScenario,
+            ExtensionInvoker<T, R> executor,
+            ExtensionReducer<R> reducer,
+            Executor taskExecutor,
+            Duration timeout) {
+
+        List<ExtensionRoute> routes = requireRoutes(extensionPoint, bizScenario);
+
+        // 只有一个实现时直接在当前线程执行，避免线程切换
+        if (routes.size() == 1) {
+            return reducer.reduce(List.of(invoke(routes.get(0), executor)));
+        }
+
+        List<ExtensionTask<R>> tasks = new ArrayList<>(routes.size());
+        for (ExtensionRoute route : routes) {
+            tasks.add(submit(route, executor, taskExecutor));
+        }
 
-        if (extension == null) {
+        CompletableFuture<?>[] futures = tasks.stream().map(ExtensionTask::future).toArray(CompletableFuture[]::new);
+        boolean completed = false;
+        try {
+            // 任一分支失败立即结束等待，不必等到其余分支完成或超时
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures), failureOf(futures))
+                    .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            completed = true;
+        } catch (TimeoutException e) {
+            throw new SysException("EXTENSION_TIMEOUT",
+                    "扩展点执行超时: " + extensionPoint.getSimpleName() + ", 场景: " + bizScenario
+                            + ", timeout=" + timeout.toMillis() + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SysException("EXTENSION_INTERRUPTED",
+                    "扩展点执行被中断: " + extensionPoint.getSimpleName() + ", 场景: " + bizScenario);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            if (!completed) {
+                tasks.forEach(task -> task.cancel(true));
+            }
+        }
+
+        List<R> results = new ArrayList<>(tasks.size());
+        for (ExtensionTask<R> task : tasks) {
+            results.add(task.future().join());
+        }
+        return reducer.reduce(results);
+    }
+
+    /**
+     * 获取全部匹配的扩展点实现，按特异度降序
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends ExtensionPointI> List<T> getAllExtensions(Class<T> extensionPoint, BizScenario bizScenario) {
+        List<ExtensionRoute> routes = requireRoutes(extensionPoint, bizScenario);
+
+        List<T> extensions = new ArrayList<>(routes.size());
+        for (ExtensionRoute route : routes) {
+            extensions.add((T) route.extension());
+        }
+        return extensions;
+    }
+
+    /**
+     * 获取全部匹配的路由结果，未找到时抛出系统异常
+     */
+    private List<ExtensionRoute> requireRoutes(Class<? extends ExtensionPointI> extensionPoint,
+                                               BizScenario bizScenario) {
+        List<ExtensionRoute> routes = extensionRegistry.getRoutingTable(extensionPoint).routeAll(bizScenario);
+
+        if (routes.isEmpty()) {
+            throw new SysException("EXTENSION_NOT_FOUND",
+                    "未找到扩展点实现: " + extensionPoint.getSimpleName() + ", 场景: " + bizScenario);
+        }
+
+        log.debug("执行全部扩展点: interface={}, scenario={}, count={}",
+                extensionPoint.getSimpleName(), bizScenario, routes.size());
+
+        return routes;
+    }
+
+    /**
+     * 获取路由结果，未找到时抛出系统异常
+     */
+    private ExtensionRoute requireRoute(Class<? extends ExtensionPointI> extensionPoint, BizScenario bizScenario) {
+        ExtensionRoute route = extensionRegistry.getRoutingTable(extensionPoint).route(bizScenario);
+
+        if (route == null) {
             throw new SysException("EXTENSION_NOT_FOUND",
                     "未找到扩展点实现: " + extensionPoint.getSimpleName() + ", 场景: " + bizScenario);
         }
 
         log.debug("执行扩展点: interface={}, scenario={}, impl={}",
-                extensionPoint.getSimpleName(), bizScenario, extension.getClass().getSimpleName());
+                extensionPoint.getSimpleName(), bizScenario, route.extension().getClass().getSimpleName());
 
-        executor.invoke(extension);
+        return route;
     }
 
     /**
      * 获取扩展点实现
+     * 路由表按扩展点构建一次，之后每次调用只做哈希查找
      */
     @SuppressWarnings("unchecked")
     public <T extends ExtensionPointI> T getExtension(Class<T> extensionPoint, BizScenario bizScenario) {
-        // 从缓存获取
-        List<ExtensionCoordinate> extensions = extensionCache.computeIfAbsent(
-                extensionPoint,
-                k -> locateExtensions(extensionPoint)
-        );
-
-        // 查找匹配的扩展点
-        for (ExtensionCoordinate extension : extensions) {
-            if (extension.match(bizScenario)) {
-                return (T) extension.getExtensionImpl();
-            }
+        ExtensionRoute route = extensionRegistry.getRoutingTable(extensionPoint).route(bizScenario);
+        return route != null ? (T) route.extension() : null;
+    }
+
+    /**
+     * 执行扩展点并记录调用统计（计时与计数均为原子操作，不分配对象）
+     */
+    private static <T extends ExtensionPointI, R> R invoke(ExtensionRoute route, ExtensionInvoker<T, R> executor) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            R result = executor.invoke(extensionOf(route));
+            success = true;
+            return result;
+        } finally {
+            route.stats().record(System.nanoTime() - start, success);
         }
+    }
 
-        // 如果没有找到，尝试查找默认实现
-        for (ExtensionCoordinate extension : extensions) {
-            if (extension.isDefault()) {
-                log.debug("使用默认扩展点: interface={}, impl={}",
-                        extensionPoint.getSimpleName(), extension.getExtensionImpl().getClass().getSimpleName());
-                return (T) extension.getExtensionImpl();
-            }
+    /**
+     * 以可中断的任务提交到线程池
+     * CompletableFuture.cancel 不会中断正在执行的线程，因此由 FutureTask 执行，取消时中断执行线程；
+     * 线程池拒绝时返回的Future以异常完成，不在调用线程上执行
+     */
+    private static <T extends ExtensionPointI, R> ExtensionTask<R> submit(ExtensionRoute route,
+                                                                         ExtensionInvoker<T, R> executor,
+                                                                         Executor taskExecutor) {
+        Supplier<R> body = withMdc(() -> invoke(route, executor));
+        ExtensionTask<R> task = new ExtensionTask<>(body);
+        try {
+            taskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future().completeExceptionally(new SysException("EXTENSION_REJECTED",
+                    "扩展点线程池已满，拒绝执行: " + route.extension().getClass().getSimpleName()));
         }
+        return task;
+    }
 
-        return null;
+    /**
+     * 任一Future异常完成时以该异常完成，全部正常完成时永不完成
+     */
+    private static CompletableFuture<Object> failureOf(CompletableFuture<?>[] futures) {
+        CompletableFuture<Object> failure = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    failure.completeExceptionally(e);
+                }
+            });
+        }
+        return failure;
     }
 
     /**
-     * 定位扩展点实现
+     * 可中断的扩展点任务
+     * 执行结果同步到 {@link #future()}；取消该Future时同样中断执行线程
      */
+    private static final class ExtensionTask<R> extends FutureTask<R> {
+
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        ExtensionTask(Supplier<R> body) {
+            super(body::get);
+            future.whenComplete((result, e) -> {
+                if (future.isCancelled()) {
+                    cancel(true);
+                }
+            });
+        }
+
+        CompletableFuture<R> future() {
+            return future;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                future.cancel(false);
+                return;
+            }
+            try {
+                future.complete(get());
+            } catch (ExecutionException e) {
+                future.completeExceptionally(e.getCause());
+            } catch (InterruptedException e) {
+                // 任务已完成，get 不会阻塞
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private <T extends ExtensionPointI> List<ExtensionCoordinate> locateExtensions(Class<T> extensionPoint) {
-        // 获取所有实现该扩展点接口的Bean
-        Map<String, T> extensions = applicationContextHelper.getBeansOfType(extensionPoint);
+    private static <T extends ExtensionPointI> T extensionOf(ExtensionRoute route) {
+        return (T) route.extension();
+    }
 
-        return extensions.values().stream()
-                .filter(bean -> bean.getClass().isAnnotationPresent(Extension.class))
-                .map(bean -> {
-                    Extension annotation = bean.getClass().getAnnotation(Extension.class);
-                    return new ExtensionCoordinate(
-                            annotation.bizId(),
-                            annotation.useCase(),
-                            annotation.scenario(),
-                            (ExtensionPointI) bean
-                    );
-                })
-                .toList();
+    @Override
+    public void destroy() {
+        if (ownedTaskExecutor != null) {
+            ownedTaskExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 将调用线程的MDC传递到执行线程，执行完成后恢复执行线程原有的MDC
+     */
+    private static <R> Supplier<R> withMdc(Supplier<R> task) {
+        Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(callerContext);
+            try {
+                return task.get();
+            } finally {
+                setMdc(previous);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    /**
+     * 创建内置线程池
+     * 有界队列 + AbortPolicy：线程池饱和时拒绝任务，由调用方得到异常完成的Future，
+     * 不在调用线程上同步执行（否则截止时间失效）
+     */
+    private static ThreadPoolExecutor newTaskExecutor() {
+        int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(TASK_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "extension-task-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 解包分支异常：业务异常原样抛出，其他异常包装为系统异常
+     */
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof BaseException baseException) {
+            return baseException;
+        }
+        return SysException.wrap("EXTENSION_EXECUTE_ERROR", cause);
     }
 
     /**
@@ -160,7 +521,40 @@ public class ExtensionExecutor {
         }
 
         boolean isDefault() {
-            return "DEFAULT".equals(bizId);
+            return ExtensionRoutingTable.DEFAULT_BIZ_ID.equals(bizId);
+        }
+
+        /**
+         * 特异度：业务身份 4 分，用例 2 分，场景 1 分
+         * 权重保证任一维度更具体的实现都优先于所有更泛化的实现，
+         * 例如 VIP(4) &gt; DEFAULT.register.email(3)，VIP.register.email(7) &gt; VIP.register(6)
+         */
+        int specificity() {
+            int score = 0;
+            if (normalize(bizId) != null && !isDefault()) {
+                score += 4;
+            }
+            if (normalize(useCase) != null) {
+                score += 2;
+            }
+            if (normalize(scenario) != null) {
+                score += 1;
+            }
+            return score;
+        }
+
+        /**
+         * 坐标标识，如 VIP.register.email
+         */
+        String getIdentity() {
+            StringBuilder sb = new StringBuilder(bizId);
+            if (normalize(useCase) != null) {
+                sb.append(".").append(useCase);
+            }
+            if (normalize(scenario) != null) {
+                sb.append(".").append(scenario);
+            }
+            return sb.toString();
         }
 
         String normalize(String value) {
@@ -183,4 +577,13 @@ public class ExtensionExecutor {
     public interface ExtensionInvokerVoid<T extends ExtensionPointI> {
         void invoke(T extension);
     }
+
+    /**
+     * 扩展点结果归并器（executeAll 使用）
+     * 如：取风险最高的风控结果、叠加多个优惠
+     */
+    @FunctionalInterface
+    public interface ExtensionReducer<R> {
+        R reduce(List<R> results);
+    }
 }
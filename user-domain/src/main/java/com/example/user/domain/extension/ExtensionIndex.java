@@ -0,0 +1,20 @@
+package com.example.user.domain.extension;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 扩展点静态索引
+ * 由 user-extension-processor 在编译期根据 @Extension 注解生成，通过 ServiceLoader 加载
+ *
+ * 注册表优先使用索引定位扩展点实现；未被索引覆盖的Bean（如运行期注册的实现）仍通过反射读取注解
+ */
+public interface ExtensionIndex {
+
+    /**
+     * 按扩展点接口分组的扩展点实现
+     * Key: 扩展点接口类
+     * Value: 扩展点实现描述
+     */
+    Map<Class<? extends ExtensionPointI>, List<ExtensionDescriptor>> extensions();
+}
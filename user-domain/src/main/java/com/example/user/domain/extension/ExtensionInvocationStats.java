@@ -0,0 +1,150 @@
+package com.example.user.domain.extension;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 扩展点调用统计
+ * 按 (扩展点, 实现类, 业务场景) 维度记录调用次数、异常次数和耗时直方图
+ *
+ * 直方图采用HDR风格的对数-线性分桶：每个2的幂区间再等分为 {@value #SUB_BUCKETS} 个子桶，
+ * 相对误差不超过 1/{@value #SUB_BUCKETS}。记录过程只涉及原子自增，无锁、无对象分配。
+ */
+public class ExtensionInvocationStats {
+
+    /**
+     * 每个2的幂区间的子桶数（必须是2的幂）
+     */
+    private static final int SUB_BUCKETS = 8;
+
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    /**
+     * 可记录的最大耗时：2^40 纳秒（约18分钟），超出的计入最后一个桶
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final String extensionPoint;
+
+    private final String implementation;
+
+    private final String scenario;
+
+    private final LongAdder invocations = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    ExtensionInvocationStats(String extensionPoint, String implementation, String scenario) {
+        this.extensionPoint = extensionPoint;
+        this.implementation = implementation;
+        this.scenario = scenario;
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param nanos   耗时（纳秒）
+     * @param success 是否成功
+     */
+    public void record(long nanos, boolean success) {
+        invocations.increment();
+        if (!success) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(bucketOf(nanos));
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * 计算耗时分位数（纳秒），返回所在桶的上界
+     *
+     * @param quantile 分位数，如 0.99
+     */
+    public long percentileNanos(double quantile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * 耗时所在的桶：小于 SUB_BUCKETS 的值线性分桶，其余按 (指数, 子桶) 分桶
+     */
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 桶的上界（含）
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    public String getExtensionPoint() {
+        return extensionPoint;
+    }
+
+    public String getImplementation() {
+        return implementation;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+}
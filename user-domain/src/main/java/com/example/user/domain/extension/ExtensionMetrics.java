@@ -0,0 +1,87 @@
+package com.example.user.domain.extension;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 扩展点调用指标
+ * 维护 (扩展点, 实现类, 业务场景) → 调用统计 的注册表
+ *
+ * 统计对象在路由解析时创建并随路由结果一起缓存，调用路径上直接记录，不再查询注册表；
+ * 监控适配层（如Micrometer）通过 {@link #addListener(Consumer)} 感知新出现的统计维度。
+ *
+ * 业务场景维度只取驻留池中的规范场景，驻留池已满后的非规范场景统一记在 {@value #OVERFLOW_SCENARIO} 下，
+ * 统计数量和指标标签基数因此受驻留池上限约束。
+ */
+@Component
+public class ExtensionMetrics {
+
+    /**
+     * 未指定业务场景时的统计标签
+     */
+    static final String NO_SCENARIO = "-";
+
+    /**
+     * 非规范业务场景（驻留池已满）的统计标签
+     */
+    static final String OVERFLOW_SCENARIO = "_overflow";
+
+    private final Map<StatsKey, ExtensionInvocationStats> statsMap = new ConcurrentHashMap<>();
+
+    private final List<Consumer<ExtensionInvocationStats>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取（或创建）调用统计
+     */
+    ExtensionInvocationStats stats(Class<?> extensionPoint, ExtensionPointI extension, BizScenario bizScenario) {
+        StatsKey key = new StatsKey(
+                extensionPoint.getSimpleName(),
+                ClassUtils.getUserClass(extension).getSimpleName(),
+                scenarioTag(bizScenario));
+
+        ExtensionInvocationStats stats = statsMap.get(key);
+        if (stats != null) {
+            return stats;
+        }
+
+        ExtensionInvocationStats created = new ExtensionInvocationStats(key.extensionPoint(), key.implementation(), key.scenario());
+        stats = statsMap.putIfAbsent(key, created);
+        if (stats != null) {
+            return stats;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    private static String scenarioTag(BizScenario bizScenario) {
+        if (bizScenario == null) {
+            return NO_SCENARIO;
+        }
+        return bizScenario.isCanonical() ? bizScenario.getIdentity() : OVERFLOW_SCENARIO;
+    }
+
+    /**
+     * 全部调用统计
+     */
+    public Collection<ExtensionInvocationStats> getAll() {
+        return List.copyOf(statsMap.values());
+    }
+
+    /**
+     * 注册统计维度监听器：立即回放已有统计，之后每出现一个新维度回调一次
+     */
+    public void addListener(Consumer<ExtensionInvocationStats> listener) {
+        listeners.add(listener);
+        statsMap.values().forEach(listener);
+    }
+
+    private record StatsKey(String extensionPoint, String implementation, String scenario) {
+    }
+}
@@ -0,0 +1,445 @@
+package com.example.user.domain.extension;
+
+import com.example.user.client.exception.SysException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 扩展点注册表
+ * 维护所有扩展点的路由表快照，支持运行期热更新，无需重启Spring容器
+ *
+ * 快照不可变且带版本号，更新时整体构建新快照后原子替换（写时复制）：
+ * <ul>
+ *     <li>读取：一次 volatile 读拿到当前快照，不加锁；进行中的调用继续使用旧快照</li>
+ *     <li>写入：{@link #refresh()}、{@link #override}、{@link #registerExtension} 串行执行，
+ *     构建失败（如坐标冲突）时保留旧快照</li>
+ * </ul>
+ *
+ * 运行期覆盖：将指定业务场景坐标改为路由到某个Bean，优先于该坐标上 @Extension 声明的实现，
+ * 并在后续刷新中保留。调用统计按名称维度记录，不随快照替换而丢失。
+ *
+ * 扩展点实现的坐标和所属扩展点优先取自编译期生成的 {@link ExtensionIndex}，构建时不再反射读取注解；
+ * 未被索引覆盖的Bean（如运行期注册、未启用注解处理器的模块）回退为反射读取。
+ */
+@Slf4j
+@Component
+public class ExtensionRegistry {
+
+    private final ApplicationContextHelper applicationContextHelper;
+
+    private final ExtensionMetrics extensionMetrics;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * 编译期生成的扩展点索引
+     * Key: 扩展点实现类
+     * Value: 注解描述及所属扩展点接口
+     */
+    private final Map<Class<?>, IndexedExtension> index;
+
+    /**
+     * 写锁：快照的构建与发布串行执行
+     */
+    private final Object writeLock = new Object();
+
+    public ExtensionRegistry(ApplicationContextHelper applicationContextHelper, ExtensionMetrics extensionMetrics) {
+        this.applicationContextHelper = applicationContextHelper;
+        this.extensionMetrics = extensionMetrics;
+        this.index = loadIndex();
+    }
+
+    /**
+     * 容器刷新完成后预构建所有扩展点的路由表
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() != ApplicationContextHelper.getApplicationContext()) {
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * 重新扫描所有扩展点实现并发布新快照
+     *
+     * @return 新快照版本号
+     */
+    public long refresh() {
+        synchronized (writeLock) {
+            return publish(snapshot.get().overrides());
+        }
+    }
+
+    /**
+     * 注册运行期创建的扩展点实现（需标注 @Extension），并发布新快照
+     *
+     * @return 新快照版本号
+     */
+    public long registerExtension(String beanName, ExtensionPointI extension) {
+        Class<?> userClass = ClassUtils.getUserClass(extension);
+        if (!index.containsKey(userClass) && userClass.getAnnotation(Extension.class) == null) {
+            throw new SysException("EXTENSION_INVALID",
+                    "扩展点实现缺少@Extension注解: " + extension.getClass().getName());
+        }
+        ApplicationContext context = ApplicationContextHelper.getApplicationContext();
+        if (!(context instanceof ConfigurableApplicationContext configurableContext)) {
+            throw new SysException("EXTENSION_INVALID", "当前容器不支持运行期注册Bean");
+        }
+
+        synchronized (writeLock) {
+            ConfigurableListableBeanFactory beanFactory = configurableContext.getBeanFactory();
+            beanFactory.registerSingleton(beanName, extension);
+            try {
+                return publish(snapshot.get().overrides());
+            } catch (RuntimeException e) {
+                // 新实现无法加入路由表（如坐标冲突）时撤销注册，保持容器与快照一致
+                if (beanFactory instanceof DefaultSingletonBeanRegistry singletonRegistry) {
+                    singletonRegistry.destroySingleton(beanName);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 将业务场景坐标覆盖为指定Bean，并发布新快照
+     *
+     * @param extensionPoint 扩展点接口类
+     * @param bizScenario    被覆盖的坐标，未指定的维度视为通配（与 @Extension 一致）
+     * @param beanName       目标实现的Bean名称
+     * @return 新快照版本号
+     */
+    public long override(Class<? extends ExtensionPointI> extensionPoint, BizScenario bizScenario, String beanName) {
+        Object bean = lookupBean(beanName);
+        if (!extensionPoint.isInstance(bean)) {
+            throw new SysException("EXTENSION_INVALID",
+                    "Bean " + beanName + " 未实现扩展点 " + extensionPoint.getSimpleName());
+        }
+
+        synchronized (writeLock) {
+            Map<Class<?>, Map<BizScenario, String>> overrides = copyOf(snapshot.get().overrides());
+            overrides.computeIfAbsent(extensionPoint, k -> new HashMap<>()).put(coordinateOf(bizScenario), beanName);
+            return publish(overrides);
+        }
+    }
+
+    /**
+     * 移除业务场景坐标的覆盖，并发布新快照
+     *
+     * @return 新快照版本号
+     */
+    public long removeOverride(Class<? extends ExtensionPointI> extensionPoint, BizScenario bizScenario) {
+        synchronized (writeLock) {
+            Map<Class<?>, Map<BizScenario, String>> overrides = copyOf(snapshot.get().overrides());
+            Map<BizScenario, String> byScenario = overrides.get(extensionPoint);
+            if (byScenario == null || byScenario.remove(coordinateOf(bizScenario)) == null) {
+                return snapshot.get().version();
+            }
+            if (byScenario.isEmpty()) {
+                overrides.remove(extensionPoint);
+            }
+            return publish(overrides);
+        }
+    }
+
+    /**
+     * 获取扩展点路由表
+     * 快照中不存在时（如容器尚未刷新完成）按需构建，并以相同版本号发布
+     */
+    ExtensionRoutingTable getRoutingTable(Class<? extends ExtensionPointI> extensionPoint) {
+        ExtensionRoutingTable routingTable = snapshot.get().routingTables().get(extensionPoint);
+        if (routingTable != null) {
+            return routingTable;
+        }
+
+        synchronized (writeLock) {
+            Snapshot current = snapshot.get();
+            routingTable = current.routingTables().get(extensionPoint);
+            if (routingTable == null) {
+                routingTable = buildRoutingTable(extensionPoint, locateExtensions(extensionPoint), current.overrides());
+                Map<Class<?>, ExtensionRoutingTable> routingTables = new HashMap<>(current.routingTables());
+                routingTables.put(extensionPoint, routingTable);
+                snapshot.set(current.withRoutingTables(Map.copyOf(routingTables)));
+            }
+            return routingTable;
+        }
+    }
+
+    /**
+     * 按名称查找已注册的扩展点接口（支持简单类名和全限定名）
+     */
+    public Class<?> findExtensionPoint(String name) {
+        for (Class<?> extensionPoint : snapshot.get().routingTables().keySet()) {
+            if (extensionPoint.getSimpleName().equals(name) || extensionPoint.getName().equals(name)) {
+                return extensionPoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 当前快照版本号
+     */
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+
+    /**
+     * 最近一次构建快照的耗时
+     */
+    public Duration getBuildTime() {
+        return snapshot.get().buildTime();
+    }
+
+    /**
+     * 缺少DEFAULT实现的扩展点
+     */
+    public Set<Class<?>> getExtensionPointsWithoutDefault() {
+        return snapshot.get().withoutDefault();
+    }
+
+    /**
+     * 当前生效的运行期覆盖
+     * Key: 扩展点接口类
+     * Value: 业务场景坐标 → Bean名称
+     */
+    public Map<Class<?>, Map<BizScenario, String>> getOverrides() {
+        return snapshot.get().overrides();
+    }
+
+    /**
+     * 扫描所有扩展点实现，按扩展点接口分组构建路由表，校验DEFAULT实现后发布新快照
+     * 调用方需持有写锁
+     */
+    private long publish(Map<Class<?>, Map<BizScenario, String>> overrides) {
+        long start = System.nanoTime();
+
+        Map<Class<?>, List<ExtensionExecutor.ExtensionCoordinate>> coordinatesByPoint = new HashMap<>();
+        int reflected = 0;
+        for (ExtensionPointI bean : applicationContextHelper.getBeansOfType(ExtensionPointI.class).values()) {
+            IndexedExtension indexed = index.get(ClassUtils.getUserClass(bean));
+            if (indexed != null) {
+                ExtensionExecutor.ExtensionCoordinate coordinate = indexed.toCoordinate(bean);
+                for (Class<?> type : indexed.extensionPoints()) {
+                    coordinatesByPoint.computeIfAbsent(type, k -> new ArrayList<>()).add(coordinate);
+                }
+                continue;
+            }
+
+            ExtensionExecutor.ExtensionCoordinate coordinate = reflectCoordinate(bean);
+            if (coordinate == null) {
+                continue;
+            }
+            reflected++;
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(ClassUtils.getUserClass(bean))) {
+                if (type != ExtensionPointI.class && ExtensionPointI.class.isAssignableFrom(type)) {
+                    coordinatesByPoint.computeIfAbsent(type, k -> new ArrayList<>()).add(coordinate);
+                }
+            }
+        }
+        overrides.keySet().forEach(extensionPoint -> coordinatesByPoint.putIfAbsent(extensionPoint, new ArrayList<>()));
+
+        Map<Class<?>, ExtensionRoutingTable> routingTables = new HashMap<>();
+        Set<Class<?>> withoutDefault = new HashSet<>();
+        coordinatesByPoint.forEach((extensionPoint, coordinates) -> {
+            ExtensionRoutingTable routingTable = buildRoutingTable(extensionPoint, coordinates, overrides);
+            if (!routingTable.hasDefault()) {
+                withoutDefault.add(extensionPoint);
+                log.warn("扩展点缺少DEFAULT实现，未匹配的业务场景将无法执行: interface={}",
+                        extensionPoint.getSimpleName());
+            }
+            routingTables.put(extensionPoint, routingTable);
+        });
+
+        Duration buildTime = Duration.ofNanos(System.nanoTime() - start);
+        long version = snapshot.get().version() + 1;
+        Map<Class<?>, Map<BizScenario, String>> publishedOverrides = new HashMap<>();
+        overrides.forEach((extensionPoint, byScenario) -> publishedOverrides.put(extensionPoint, Map.copyOf(byScenario)));
+        snapshot.set(new Snapshot(version, Map.copyOf(routingTables), Map.copyOf(publishedOverrides),
+                Set.copyOf(withoutDefault), buildTime));
+
+        log.info("扩展点路由表构建完成: version={}, extensionPoints={}, indexed={}, reflected={}, cost={}ms",
+                version, routingTables.size(), index.size(), reflected, buildTime.toMillis());
+        return version;
+    }
+
+    /**
+     * 构建单个扩展点的路由表：被覆盖坐标上的 @Extension 实现替换为覆盖的Bean
+     */
+    private ExtensionRoutingTable buildRoutingTable(Class<?> extensionPoint,
+                                                    List<ExtensionExecutor.ExtensionCoordinate> coordinates,
+                                                    Map<Class<?>, Map<BizScenario, String>> overrides) {
+        Map<BizScenario, String> byScenario = overrides.getOrDefault(extensionPoint, Map.of());
+        if (byScenario.isEmpty()) {
+            return ExtensionRoutingTable.build(extensionPoint, coordinates, extensionMetrics);
+        }
+
+        List<ExtensionExecutor.ExtensionCoordinate> effective = new ArrayList<>();
+        for (ExtensionExecutor.ExtensionCoordinate coordinate : coordinates) {
+            if (!byScenario.containsKey(coordinateOf(coordinate))) {
+                effective.add(coordinate);
+            }
+        }
+        byScenario.forEach((bizScenario, beanName) -> {
+            Object bean = lookupBean(beanName);
+            if (!extensionPoint.isInstance(bean)) {
+                throw new SysException("EXTENSION_INVALID",
+                        "Bean " + beanName + " 未实现扩展点 " + extensionPoint.getSimpleName());
+            }
+            effective.add(new ExtensionExecutor.ExtensionCoordinate(
+                    bizScenario.getBizId(),
+                    Objects.toString(bizScenario.getUseCase(), ""),
+                    Objects.toString(bizScenario.getScenario(), ""),
+                    (ExtensionPointI) bean));
+        });
+        return ExtensionRoutingTable.build(extensionPoint, effective, extensionMetrics);
+    }
+
+    /**
+     * 定位扩展点实现
+     * 仅在扩展点未被预构建时（如容器尚未刷新完成）使用
+     */
+    private <T extends ExtensionPointI> List<ExtensionExecutor.ExtensionCoordinate> locateExtensions(
+            Class<T> extensionPoint) {
+        // 获取所有实现该扩展点接口的Bean
+        Map<String, T> extensions = applicationContextHelper.getBeansOfType(extensionPoint);
+
+        List<ExtensionExecutor.ExtensionCoordinate> coordinates = new ArrayList<>();
+        for (T bean : extensions.values()) {
+            ExtensionExecutor.ExtensionCoordinate coordinate = toCoordinate(bean);
+            if (coordinate != null) {
+                coordinates.add(coordinate);
+            }
+        }
+        return coordinates;
+    }
+
+    /**
+     * 生成扩展点坐标：优先使用编译期索引，未被索引覆盖时读取@Extension注解；未标注注解的Bean返回null
+     */
+    private ExtensionExecutor.ExtensionCoordinate toCoordinate(ExtensionPointI bean) {
+        IndexedExtension indexed = index.get(ClassUtils.getUserClass(bean));
+        return indexed != null ? indexed.toCoordinate(bean) : reflectCoordinate(bean);
+    }
+
+    /**
+     * 反射读取@Extension注解生成扩展点坐标，未标注注解的Bean返回null
+     */
+    private static ExtensionExecutor.ExtensionCoordinate reflectCoordinate(ExtensionPointI bean) {
+        Extension annotation = ClassUtils.getUserClass(bean).getAnnotation(Extension.class);
+        if (annotation == null) {
+            return null;
+        }
+        return new ExtensionExecutor.ExtensionCoordinate(
+                annotation.bizId(),
+                annotation.useCase(),
+                annotation.scenario(),
+                bean
+        );
+    }
+
+    /**
+     * 通过ServiceLoader加载编译期生成的扩展点索引（可能来自多个模块）
+     */
+    private static Map<Class<?>, IndexedExtension> loadIndex() {
+        Map<Class<?>, List<Class<?>>> pointsByImplementation = new HashMap<>();
+        Map<Class<?>, ExtensionDescriptor> descriptors = new HashMap<>();
+        for (ExtensionIndex extensionIndex : ServiceLoader.load(ExtensionIndex.class, ExtensionRegistry.class.getClassLoader())) {
+            extensionIndex.extensions().forEach((extensionPoint, extensions) -> {
+                for (ExtensionDescriptor descriptor : extensions) {
+                    descriptors.put(descriptor.implementation(), descriptor);
+                    pointsByImplementation.computeIfAbsent(descriptor.implementation(), k -> new ArrayList<>())
+                            .add(extensionPoint);
+                }
+            });
+        }
+
+        Map<Class<?>, IndexedExtension> index = new HashMap<>();
+        descriptors.forEach((implementation, descriptor) -> index.put(implementation,
+                new IndexedExtension(descriptor, List.copyOf(pointsByImplementation.get(implementation)))));
+        return Map.copyOf(index);
+    }
+
+    private static Object lookupBean(String beanName) {
+        try {
+            return ApplicationContextHelper.getBean(beanName);
+        } catch (NoSuchBeanDefinitionException e) {
+            throw new SysException("EXTENSION_INVALID", "Bean不存在: " + beanName);
+        }
+    }
+
+    /**
+     * 坐标的规范形式：未指定业务身份视为 DEFAULT
+     */
+    private static BizScenario coordinateOf(BizScenario bizScenario) {
+        if (bizScenario == null) {
+            return BizScenario.defaultScenario();
+        }
+        if (bizScenario.getBizId() == null) {
+            return BizScenario.valueOf(ExtensionRoutingTable.DEFAULT_BIZ_ID,
+                    bizScenario.getUseCase(), bizScenario.getScenario());
+        }
+        return bizScenario;
+    }
+
+    private static BizScenario coordinateOf(ExtensionExecutor.ExtensionCoordinate coordinate) {
+        return coordinateOf(BizScenario.valueOf(coordinate.getBizId(), coordinate.getUseCase(), coordinate.getScenario()));
+    }
+
+    private static Map<Class<?>, Map<BizScenario, String>> copyOf(Map<Class<?>, Map<BizScenario, String>> overrides) {
+        Map<Class<?>, Map<BizScenario, String>> copy = new HashMap<>();
+        overrides.forEach((extensionPoint, byScenario) -> copy.put(extensionPoint, new HashMap<>(byScenario)));
+        return copy;
+    }
+
+    /**
+     * 索引中的扩展点实现
+     */
+    private record IndexedExtension(ExtensionDescriptor descriptor, List<Class<?>> extensionPoints) {
+
+        ExtensionExecutor.ExtensionCoordinate toCoordinate(ExtensionPointI bean) {
+            return new ExtensionExecutor.ExtensionCoordinate(
+                    descriptor.bizId(),
+                    descriptor.useCase(),
+                    descriptor.scenario(),
+                    bean
+            );
+        }
+    }
+
+    /**
+     * 注册表快照（不可变）
+     */
+    private record Snapshot(long version,
+                            Map<Class<?>, ExtensionRoutingTable> routingTables,
+                            Map<Class<?>, Map<BizScenario, String>> overrides,
+                            Set<Class<?>> withoutDefault,
+                            Duration buildTime) {
+
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), Map.of(), Set.of(), Duration.ZERO);
+
+        Snapshot withRoutingTables(Map<Class<?>, ExtensionRoutingTable> routingTables) {
+            return new Snapshot(version, routingTables, overrides, withoutDefault, buildTime);
+        }
+    }
+}
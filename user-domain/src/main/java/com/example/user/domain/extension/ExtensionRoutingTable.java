@@ -0,0 +1,291 @@
+package com.example.user.domain.extension;
+
+import com.example.user.client.exception.SysException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 扩展点路由表
+ * COLA架构：每个扩展点接口在启动时构建一次，将业务场景直接路由到扩展点实现
+ *
+ * 路由表结构：bizId → useCase → scenario → 扩展点实现（未指定的维度以 "" 作为通配键）
+ *
+ * 回退链（在构建时确定，运行期仅做哈希查找，不分配对象）：
+ * <pre>
+ * bizId.useCase.scenario → bizId.useCase → bizId..scenario → bizId
+ *   → DEFAULT.useCase.scenario → DEFAULT.useCase → DEFAULT..scenario → DEFAULT
+ * </pre>
+ * 回退链即按特异度（{@link ExtensionExecutor.ExtensionCoordinate#specificity()}）从高到低排列，
+ * 因此同时命中多个实现时总是最具体的实现胜出，与Bean注册顺序无关。
+ * 同一坐标注册了多个实现时视为歧义，构建时直接报错。
+ *
+ * 对于驻留的规范 {@link BizScenario}，解析结果会被缓存，重复请求只需一次哈希查找。
+ * 缓存的解析结果同时携带对应的调用统计，调用路径上记录指标无需再查询统计注册表。
+ */
+final class ExtensionRoutingTable {
+
+    static final String DEFAULT_BIZ_ID = "DEFAULT";
+
+    /**
+     * 通配键：注解中未指定的 useCase / scenario
+     */
+    private static final String ANY = "";
+
+    private final Class<?> extensionPoint;
+
+    private final ExtensionMetrics metrics;
+
+    private final Map<String, Map<String, Map<String, ExtensionPointI>>> routes;
+
+    /**
+     * 兜底实现：未命中任何路由时使用
+     */
+    private final ExtensionPointI fallback;
+
+    /**
+     * 未指定业务场景时的路由结果
+     */
+    private final ExtensionRoute fallbackRoute;
+
+    /**
+     * 解析结果缓存
+     * Key: 规范业务场景（驻留实例，大小受驻留池上限约束）
+     * Value: 扩展点实现及其调用统计
+     */
+    private final Map<BizScenario, ExtensionRoute> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * 全部扩展点坐标，按特异度降序排列（用于 executeAll 扇出执行）
+     */
+    private final List<ExtensionExecutor.ExtensionCoordinate> coordinates;
+
+    /**
+     * 全部匹配实现的缓存
+     * Key: 规范业务场景
+     * Value: 匹配的扩展点实现及其调用统计，按特异度降序
+     */
+    private final Map<BizScenario, List<ExtensionRoute>> resolvedAll = new ConcurrentHashMap<>();
+
+    /**
+     * 非规范业务场景（驻留池已满）的路由结果，按实现复用，统计记在溢出场景下
+     * Key: 扩展点实现
+     */
+    private final Map<ExtensionPointI, ExtensionRoute> overflowRoutes = new ConcurrentHashMap<>();
+
+    private ExtensionRoutingTable(Class<?> extensionPoint,
+                                  ExtensionMetrics metrics,
+                                  Map<String, Map<String, Map<String, ExtensionPointI>>> routes,
+                                  ExtensionPointI fallback,
+                                  List<ExtensionExecutor.ExtensionCoordinate> coordinates) {
+        this.extensionPoint = extensionPoint;
+        this.metrics = metrics;
+        this.routes = routes;
+        this.fallback = fallback;
+        this.fallbackRoute = fallback != null ? newRoute(fallback, null) : null;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * 根据扩展点坐标构建路由表
+     *
+     * @throws SysException 同一坐标存在多个实现时抛出
+     */
+    static ExtensionRoutingTable build(Class<?> extensionPoint,
+                                       List<ExtensionExecutor.ExtensionCoordinate> coordinates,
+                                       ExtensionMetrics metrics) {
+        Map<String, Map<String, Map<String, ExtensionPointI>>> routes = new HashMap<>();
+        ExtensionPointI fallback = null;
+
+        List<ExtensionExecutor.ExtensionCoordinate> sorted = sortBySpecificity(coordinates);
+        for (ExtensionExecutor.ExtensionCoordinate coordinate : sorted) {
+            String bizId = bizKeyOf(coordinate.getBizId());
+            String useCase = keyOf(coordinate.getUseCase());
+            String scenario = keyOf(coordinate.getScenario());
+
+            ExtensionPointI existing = routes.computeIfAbsent(bizId, k -> new HashMap<>())
+                    .computeIfAbsent(useCase, k -> new HashMap<>())
+                    .putIfAbsent(scenario, coordinate.getExtensionImpl());
+            if (existing != null) {
+                throw new SysException("EXTENSION_CONFLICT",
+                        "扩展点实现冲突: 坐标 " + coordinate.getIdentity() + " 同时注册了 "
+                                + existing.getClass().getName() + " 和 "
+                                + coordinate.getExtensionImpl().getClass().getName());
+            }
+
+            // 兜底实现取特异度最低的 DEFAULT 实现（优先 DEFAULT 通用实现，与历史行为保持一致）
+            if (fallback == null && coordinate.isDefault()) {
+                fallback = coordinate.getExtensionImpl();
+            }
+        }
+
+        List<ExtensionExecutor.ExtensionCoordinate> descending = new ArrayList<>(sorted);
+        Collections.reverse(descending);
+        return new ExtensionRoutingTable(extensionPoint, metrics, routes, fallback, List.copyOf(descending));
+    }
+
+    /**
+     * 按特异度升序排序，特异度相同时按实现类名排序，保证构建结果确定
+     */
+    static List<ExtensionExecutor.ExtensionCoordinate> sortBySpecificity(
+            List<ExtensionExecutor.ExtensionCoordinate> coordinates) {
+        return coordinates.stream()
+                .sorted(Comparator.comparingInt(ExtensionExecutor.ExtensionCoordinate::specificity)
+                        .thenComparing(coordinate -> coordinate.getExtensionImpl().getClass().getName()))
+                .toList();
+    }
+
+    /**
+     * 是否存在DEFAULT兜底实现
+     */
+    boolean hasDefault() {
+        return fallback != null;
+    }
+
+    /**
+     * 路由到扩展点实现
+     *
+     * @param bizScenario 业务场景，为null时返回兜底实现
+     * @return 扩展点实现及其调用统计，未找到时返回null
+     */
+    ExtensionRoute route(BizScenario bizScenario) {
+        if (bizScenario == null) {
+            return fallbackRoute;
+        }
+
+        if (!bizScenario.isCanonical()) {
+            ExtensionPointI extension = resolve(bizScenario);
+            return extension != null ? newRoute(extension, bizScenario) : null;
+        }
+
+        ExtensionRoute route = resolved.get(bizScenario);
+        if (route == null) {
+            ExtensionPointI extension = resolve(bizScenario);
+            if (extension == null) {
+                return null;
+            }
+            route = newRoute(extension, bizScenario);
+            ExtensionRoute existing = resolved.putIfAbsent(bizScenario, route);
+            if (existing != null) {
+                route = existing;
+            }
+        }
+        return route;
+    }
+
+    /**
+     * 获取全部匹配的扩展点实现
+     * 匹配规则与 {@link ExtensionExecutor.ExtensionCoordinate#match(BizScenario)} 一致，结果按特异度降序；
+     * 没有任何匹配时返回兜底实现
+     *
+     * @return 扩展点实现及其调用统计，未找到时返回空列表
+     */
+    List<ExtensionRoute> routeAll(BizScenario bizScenario) {
+        if (bizScenario == null || !bizScenario.isCanonical()) {
+            return matchAll(bizScenario);
+        }
+
+        List<ExtensionRoute> routes = resolvedAll.get(bizScenario);
+        if (routes == null) {
+            routes = matchAll(bizScenario);
+            List<ExtensionRoute> existing = resolvedAll.putIfAbsent(bizScenario, routes);
+            if (existing != null) {
+                routes = existing;
+            }
+        }
+        return routes;
+    }
+
+    private List<ExtensionRoute> matchAll(BizScenario bizScenario) {
+        List<ExtensionRoute> matched = new ArrayList<>();
+        for (ExtensionExecutor.ExtensionCoordinate coordinate : coordinates) {
+            if (coordinate.match(bizScenario)) {
+                matched.add(newRoute(coordinate.getExtensionImpl(), bizScenario));
+            }
+        }
+        if (matched.isEmpty() && fallback != null) {
+            return List.of(newRoute(fallback, bizScenario));
+        }
+        return List.copyOf(matched);
+    }
+
+    private ExtensionRoute newRoute(ExtensionPointI extension, BizScenario bizScenario) {
+        if (bizScenario != null && !bizScenario.isCanonical()) {
+            ExtensionRoute route = overflowRoutes.get(extension);
+            if (route != null) {
+                return route;
+            }
+            return overflowRoutes.computeIfAbsent(extension,
+                    impl -> new ExtensionRoute(impl, metrics.stats(extensionPoint, impl, bizScenario)));
+        }
+        return new ExtensionRoute(extension, metrics.stats(extensionPoint, extension, bizScenario));
+    }
+
+    /**
+     * 按回退链解析扩展点实现
+     */
+    private ExtensionPointI resolve(BizScenario bizScenario) {
+        String useCase = keyOf(bizScenario.getUseCase());
+        String scenario = keyOf(bizScenario.getScenario());
+
+        String bizId = bizKeyOf(bizScenario.getBizId());
+        ExtensionPointI extension = lookup(routes.get(bizId), useCase, scenario);
+        if (extension == null && !DEFAULT_BIZ_ID.equals(bizId)) {
+            extension = lookup(routes.get(DEFAULT_BIZ_ID), useCase, scenario);
+        }
+        return extension != null ? extension : fallback;
+    }
+
+    /**
+     * 在单个业务身份下按 useCase → scenario 的顺序回退查找
+     */
+    private static ExtensionPointI lookup(Map<String, Map<String, ExtensionPointI>> byUseCase,
+                                          String useCase, String scenario) {
+        if (byUseCase == null) {
+            return null;
+        }
+
+        ExtensionPointI extension = lookup(byUseCase.get(useCase), scenario);
+        if (extension == null && !ANY.equals(useCase)) {
+            extension = lookup(byUseCase.get(ANY), scenario);
+        }
+        return extension;
+    }
+
+    private static ExtensionPointI lookup(Map<String, ExtensionPointI> byScenario, String scenario) {
+        if (byScenario == null) {
+            return null;
+        }
+
+        ExtensionPointI extension = byScenario.get(scenario);
+        if (extension == null && !ANY.equals(scenario)) {
+            extension = byScenario.get(ANY);
+        }
+        return extension;
+    }
+
+    /**
+     * 将null统一为通配键，避免运行期再做 normalize
+     */
+    private static String keyOf(String value) {
+        return value == null ? ANY : value;
+    }
+
+    /**
+     * 未指定业务身份时视为 DEFAULT
+     */
+    private static String bizKeyOf(String bizId) {
+        return (bizId == null || bizId.isEmpty()) ? DEFAULT_BIZ_ID : bizId;
+    }
+
+    /**
+     * 路由结果：扩展点实现及其调用统计
+     */
+    record ExtensionRoute(ExtensionPointI extension, ExtensionInvocationStats stats) {
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * 风控检查结果
  */
@@ -98,6 +100,24 @@ public class RiskCheckResult {
                 .build();
     }
 
+    /**
+     * 归并多个风控结果：取风控得分最高的结果（得分相同时取靠前的，即更具体的实现）
+     * 用于 ExtensionExecutor.executeAll 组合多个风控扩展点
+     */
+    public static RiskCheckResult mostRisky(List<RiskCheckResult> results) {
+        RiskCheckResult mostRisky = null;
+        for (RiskCheckResult result : results) {
+            if (mostRisky == null || scoreOf(result) > scoreOf(mostRisky)) {
+                mostRisky = result;
+            }
+        }
+        return mostRisky != null ? mostRisky : pass();
+    }
+
+    private static int scoreOf(RiskCheckResult result) {
+        return result.getScore() != null ? result.getScore() : 0;
+    }
+
     /**
      * 是否需要额外验证
      */
@@ -1,6 +1,14 @@
 package com.example.user.domain.gateway;
 
 import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserSearchCriteria;
+import com.example.user.domain.model.UserUniqueKey;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 用户仓储接口
@@ -14,11 +22,23 @@ public interface IUserRepository {
      */
     User save(User user);
 
+    /**
+     * 批量保存用户（一条多行INSERT），保存后回填ID
+     */
+    List<User> saveAll(List<User> users);
+
     /**
      * 根据ID查找用户
      */
     User findById(Long id);
 
+    /**
+     * 根据ID批量查找用户（一次查询）
+     *
+     * @return 存在的用户，顺序不保证，不存在的ID不出现在结果中
+     */
+    List<User> findByIds(Collection<Long> ids);
+
     /**
      * 根据邮箱查找用户
      */
@@ -34,11 +54,61 @@ public interface IUserRepository {
      */
     User findByUsername(String username);
 
+    /**
+     * 按唯一键（邮箱、手机号、用户名）只查询用户ID，不加载用户
+     * 用于存在性检查和ID查找
+     *
+     * @return 用户ID，不存在时返回null
+     */
+    Long findIdByKey(UserUniqueKey key, String value);
+
+    /**
+     * 按条件检索用户（游标分页）
+     *
+     * @param criteria 检索条件
+     * @param beforeId 游标：只返回ID小于该值的用户，为null时从最新的用户开始
+     * @param limit    最多返回条数
+     * @return 按ID倒序排列的用户
+     */
+    List<User> search(UserSearchCriteria criteria, Long beforeId, int limit);
+
+    /**
+     * 按条件逐个遍历用户（按ID升序），不在内存中累积结果
+     * 需在事务内调用
+     *
+     * @param criteria 检索条件
+     * @param consumer 每个用户回调一次
+     * @return 遍历的用户数
+     */
+    long scan(UserSearchCriteria criteria, Consumer<User> consumer);
+
+    /**
+     * 一次查询检查邮箱、手机号、用户名是否已被占用
+     *
+     * @return 已被占用的唯一键，均未占用时返回空集合
+     */
+    Set<UserUniqueKey> findConflictingKeys(String email, String phone, String username);
+
+    /**
+     * 批量检查邮箱、手机号、用户名是否已被占用（一次查询）
+     *
+     * @return 每个唯一键下已被占用的值，没有占用时为空集合
+     */
+    Map<UserUniqueKey, Set<String>> findExistingKeys(Collection<String> emails,
+                                                     Collection<String> phones,
+                                                     Collection<String> usernames);
+
     /**
      * 更新用户
      */
     User update(User user);
 
+    /**
+     * 记录用户最后活跃时间
+     * 高频写入：经写缓冲按用户合并后延迟批量落库，调用返回时不保证已写入数据库
+     */
+    void touch(User user);
+
     /**
      * 删除用户
      */
@@ -3,6 +3,8 @@ package com.example.user.domain.model;
 import com.example.user.client.constant.UserStatus;
 import com.example.user.domain.service.UserDomainService;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -53,6 +55,19 @@ public class User {
      */
     private LocalDateTime lastActiveTime;
 
+    /**
+     * 乐观锁版本号：加载时读取，更新时校验，期间被其他操作修改则更新失败
+     */
+    private Integer version;
+
+    /**
+     * 最近一次与数据库同步时的状态快照（从数据库加载或写入后由仓储记录），未持久化时为null
+     * 仓储更新时与快照对比，只写入变化的字段
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private User persistedState;
+
     /**
      * 用户注册
      * 业务规则封装在聚合根内
@@ -101,6 +116,23 @@ public class User {
         this.lastActiveTime = LocalDateTime.now();
     }
 
+    /**
+     * 记录当前状态为已持久化的快照
+     */
+    public void markPersisted() {
+        User state = new User();
+        state.id = this.id;
+        state.username = this.username;
+        state.email = this.email;
+        state.phone = this.phone;
+        state.password = this.password;
+        state.status = this.status;
+        state.registerTime = this.registerTime;
+        state.lastActiveTime = this.lastActiveTime;
+        state.version = this.version;
+        this.persistedState = state;
+    }
+
     /**
      * 校验密码
      */
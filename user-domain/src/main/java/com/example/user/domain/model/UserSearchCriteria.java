@@ -0,0 +1,20 @@
+package com.example.user.domain.model;
+
+import com.example.user.client.constant.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户检索条件
+ * 各条件为null时表示不限
+ *
+ * @param status           用户状态
+ * @param registerTimeFrom 注册时间下限（含）
+ * @param registerTimeTo   注册时间上限（不含）
+ * @param usernamePrefix   用户名前缀
+ */
+public record UserSearchCriteria(UserStatus status,
+                                 LocalDateTime registerTimeFrom,
+                                 LocalDateTime registerTimeTo,
+                                 String usernamePrefix) {
+}
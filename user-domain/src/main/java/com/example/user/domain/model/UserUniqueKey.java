@@ -0,0 +1,53 @@
+package com.example.user.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 用户唯一键
+ * 注册时需校验唯一性的字段，声明顺序即校验报错的优先级
+ */
+public enum UserUniqueKey {
+
+    EMAIL(1),
+    PHONE(1 << 1),
+    USERNAME(1 << 2);
+
+    /**
+     * 在冲突位掩码中的位
+     */
+    private final int bit;
+
+    UserUniqueKey(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * 按位查找唯一键
+     */
+    public static UserUniqueKey fromBit(int bit) {
+        for (UserUniqueKey key : values()) {
+            if (key.bit == bit) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("未知的唯一键位: " + bit);
+    }
+
+    /**
+     * 位掩码转换为唯一键集合
+     */
+    public static Set<UserUniqueKey> fromMask(int mask) {
+        EnumSet<UserUniqueKey> keys = EnumSet.noneOf(UserUniqueKey.class);
+        for (UserUniqueKey key : values()) {
+            if ((mask & key.bit) != 0) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -2,9 +2,14 @@ package com.example.user.domain.service;
 
 import com.example.user.domain.gateway.IUserRepository;
 import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserUniqueKey;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 用户领域服务
  * 处理跨聚合根的业务逻辑或无状态的业务逻辑
@@ -19,21 +24,41 @@ public class UserDomainService {
      * 检查邮箱是否已存在
      */
     public boolean isEmailExists(String email) {
-        return userRepository.findByEmail(email) != null;
+        return userRepository.findIdByKey(UserUniqueKey.EMAIL, email) != null;
     }
 
     /**
      * 检查手机号是否已存在
      */
     public boolean isPhoneExists(String phone) {
-        return userRepository.findByPhone(phone) != null;
+        return userRepository.findIdByKey(UserUniqueKey.PHONE, phone) != null;
     }
 
     /**
      * 检查用户名是否已存在
      */
     public boolean isUsernameExists(String username) {
-        return userRepository.findByUsername(username) != null;
+        return userRepository.findIdByKey(UserUniqueKey.USERNAME, username) != null;
+    }
+
+    /**
+     * 检查邮箱、手机号、用户名是否已被占用（一次查询）
+     *
+     * @return 已被占用的唯一键，按声明顺序（邮箱 → 手机号 → 用户名）迭代
+     */
+    public Set<UserUniqueKey> findConflicts(String email, String phone, String username) {
+        return userRepository.findConflictingKeys(email, phone, username);
+    }
+
+    /**
+     * 批量检查邮箱、手机号、用户名是否已被占用（一次查询）
+     *
+     * @return 每个唯一键下已被占用的值
+     */
+    public Map<UserUniqueKey, Set<String>> findExistingKeys(Collection<String> emails,
+                                                            Collection<String> phones,
+                                                            Collection<String> usernames) {
+        return userRepository.findExistingKeys(emails, phones, usernames);
     }
 
     /**
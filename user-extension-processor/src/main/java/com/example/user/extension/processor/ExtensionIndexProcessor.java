@@ -0,0 +1,281 @@
+package com.example.user.extension.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * &#64;Extension 注解处理器
+ * 编译期为标注了 @Extension 的扩展点实现生成静态索引（按扩展点接口分组），
+ * 运行期通过 ServiceLoader 加载，注册表无需再扫描Bean、反射读取注解
+ *
+ * 生成内容：
+ * <ul>
+ *     <li>{包名}.GeneratedExtensionIndex：实现 ExtensionIndex，包名默认取所有扩展点实现的公共包</li>
+ *     <li>META-INF/services/com.example.user.domain.extension.ExtensionIndex</li>
+ * </ul>
+ *
+ * 注解按全限定名识别，处理器不依赖 domain 模块（避免循环依赖）。
+ *
+ * 索引在收集到扩展点实现的那一轮生成，而不是最后一轮：最后一轮生成的源文件不再经过注解处理，javac 会告警。
+ * 之后的轮次中才出现的实现（由其他处理器生成）不在索引中，运行期回退为反射读取注解。
+ */
+@SupportedAnnotationTypes(ExtensionIndexProcessor.EXTENSION_ANNOTATION)
+@SupportedOptions(ExtensionIndexProcessor.PACKAGE_OPTION)
+public class ExtensionIndexProcessor extends AbstractProcessor {
+
+    static final String EXTENSION_ANNOTATION = "com.example.user.domain.extension.Extension";
+
+    static final String PACKAGE_OPTION = "extension.index.package";
+
+    private static final String EXTENSION_POINT = "com.example.user.domain.extension.ExtensionPointI";
+
+    private static final String EXTENSION_INDEX = "com.example.user.domain.extension.ExtensionIndex";
+
+    private static final String EXTENSION_DESCRIPTOR = "com.example.user.domain.extension.ExtensionDescriptor";
+
+    private static final String INDEX_CLASS_NAME = "GeneratedExtensionIndex";
+
+    /**
+     * Key: 扩展点接口全限定名（排序保证生成结果稳定）
+     * Value: 扩展点实现描述
+     */
+    private final Map<String, List<Entry>> entriesByPoint = new TreeMap<>();
+
+    /**
+     * 扩展点实现所在的包
+     */
+    private final Set<String> packages = new LinkedHashSet<>();
+
+    /**
+     * 索引是否已生成（Filer 不允许重复创建同一文件）
+     */
+    private boolean indexWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+
+        TypeElement extensionAnnotation = processingEnv.getElementUtils().getTypeElement(EXTENSION_ANNOTATION);
+        TypeElement extensionPoint = processingEnv.getElementUtils().getTypeElement(EXTENSION_POINT);
+        if (extensionAnnotation == null || extensionPoint == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(extensionAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (!type.getModifiers().contains(Modifier.PUBLIC) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "@Extension 实现需为 public 非抽象类，未加入扩展点索引", type);
+                continue;
+            }
+
+            if (indexWritten) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "扩展点索引已生成，该实现未加入索引，运行期回退为反射读取注解", type);
+                continue;
+            }
+
+            Entry entry = toEntry(type, extensionAnnotation);
+            Set<String> points = new LinkedHashSet<>();
+            collectExtensionPoints(type.asType(), extensionPoint, points);
+            if (points.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "@Extension 实现未实现任何扩展点接口", type);
+                continue;
+            }
+            for (String point : points) {
+                entriesByPoint.computeIfAbsent(point, k -> new ArrayList<>()).add(entry);
+            }
+            packages.add(processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString());
+        }
+
+        // 在非最后一轮生成：生成的源文件会触发新一轮处理，与普通源文件一样编译
+        if (!indexWritten && !packages.isEmpty()) {
+            writeIndex();
+            indexWritten = true;
+        }
+        return false;
+    }
+
+    /**
+     * 收集类型实现的所有扩展点接口（ExtensionPointI 的子接口，不含其本身）
+     */
+    private void collectExtensionPoints(TypeMirror type, TypeElement extensionPoint, Set<String> points) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            Element element = processingEnv.getTypeUtils().asElement(supertype);
+            if (!(element instanceof TypeElement typeElement)) {
+                continue;
+            }
+            if (typeElement.getKind() == ElementKind.INTERFACE
+                    && !typeElement.equals(extensionPoint)
+                    && processingEnv.getTypeUtils().isAssignable(
+                            processingEnv.getTypeUtils().erasure(supertype), extensionPoint.asType())) {
+                points.add(typeElement.getQualifiedName().toString());
+            }
+            collectExtensionPoints(supertype, extensionPoint, points);
+        }
+    }
+
+    /**
+     * 读取注解属性（含默认值）
+     */
+    private Entry toEntry(TypeElement type, TypeElement extensionAnnotation) {
+        String bizId = "";
+        String useCase = "";
+        String scenario = "";
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!((DeclaredType) mirror.getAnnotationType()).asElement().equals(extensionAnnotation)) {
+                continue;
+            }
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+                String name = value.getKey().getSimpleName().toString();
+                String text = String.valueOf(value.getValue().getValue());
+                switch (name) {
+                    case "bizId" -> bizId = text;
+                    case "useCase" -> useCase = text;
+                    case "scenario" -> scenario = text;
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new Entry(type.getQualifiedName().toString(), bizId, useCase, scenario);
+    }
+
+    private void writeIndex() {
+        String packageName = processingEnv.getOptions().getOrDefault(PACKAGE_OPTION, commonPackage());
+        String className = packageName.isEmpty() ? INDEX_CLASS_NAME : packageName + "." + INDEX_CLASS_NAME;
+        Filer filer = processingEnv.getFiler();
+        try {
+            JavaFileObject source = filer.createSourceFile(className);
+            try (Writer writer = source.openWriter()) {
+                writer.write(renderIndex(packageName));
+            }
+            FileObject service = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + EXTENSION_INDEX);
+            try (Writer writer = service.openWriter()) {
+                writer.write(className + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成扩展点索引失败: " + e.getMessage());
+        }
+    }
+
+    private String renderIndex(String packageName) {
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n")
+                .append(" * 扩展点静态索引（由 ").append(getClass().getSimpleName()).append(" 生成，请勿手工修改）\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(INDEX_CLASS_NAME).append(" implements ").append(EXTENSION_INDEX).append(" {\n\n")
+                .append("    private static final java.util.Map<Class<? extends ").append(EXTENSION_POINT).append(">, java.util.List<")
+                .append(EXTENSION_DESCRIPTOR).append(">> EXTENSIONS = java.util.Map.ofEntries(");
+
+        boolean firstPoint = true;
+        for (Map.Entry<String, List<Entry>> point : entriesByPoint.entrySet()) {
+            sb.append(firstPoint ? "\n" : ",\n");
+            firstPoint = false;
+            sb.append("            java.util.Map.entry(").append(point.getKey()).append(".class, java.util.List.of(");
+            boolean firstEntry = true;
+            List<Entry> entries = new ArrayList<>(point.getValue());
+            entries.sort(Comparator.comparing(Entry::implementation));
+            for (Entry entry : entries) {
+                sb.append(firstEntry ? "\n" : ",\n");
+                firstEntry = false;
+                sb.append("                    new ").append(EXTENSION_DESCRIPTOR).append("(")
+                        .append(entry.implementation()).append(".class, ")
+                        .append(literal(entry.bizId())).append(", ")
+                        .append(literal(entry.useCase())).append(", ")
+                        .append(literal(entry.scenario())).append(")");
+            }
+            sb.append("))");
+        }
+
+        sb.append(");\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.Map<Class<? extends ").append(EXTENSION_POINT).append(">, java.util.List<")
+                .append(EXTENSION_DESCRIPTOR).append(">> extensions() {\n")
+                .append("        return EXTENSIONS;\n")
+                .append("    }\n")
+                .append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * 所有扩展点实现的公共包名
+     */
+    private String commonPackage() {
+        String common = null;
+        for (String pkg : packages) {
+            if (common == null) {
+                common = pkg;
+                continue;
+            }
+            while (!pkg.equals(common) && !pkg.startsWith(common + ".")) {
+                int dot = common.lastIndexOf('.');
+                common = dot < 0 ? "" : common.substring(0, dot);
+                if (common.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return common == null ? "" : common;
+    }
+
+    private static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private record Entry(String implementation, String bizId, String useCase, String scenario) {
+    }
+}
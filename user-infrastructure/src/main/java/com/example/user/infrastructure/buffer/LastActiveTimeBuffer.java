@@ -0,0 +1,254 @@
+package com.example.user.infrastructure.buffer;
+
+import com.example.user.infrastructure.dataobject.UserPO;
+import com.example.user.infrastructure.mapper.UserMapper;
+import com.example.user.infrastructure.sharding.ShardContext;
+import com.example.user.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 最后活跃时间写缓冲（write-behind）
+ *
+ * 用户活跃极其频繁，逐次同步更新 t_user 代价过高。活跃时间先按用户ID合并在内存中（同一用户只保留最新时间），
+ * 由后台线程批量写入：
+ * <ul>
+ *     <li>每隔 flush-interval 写入一次，活跃时间最多延迟一个周期落库</li>
+ *     <li>待写入的用户数达到 max-pending 时提前写入</li>
+ *     <li>每 batch-size 个用户一条 UPDATE ... CASE 语句；分片模式下按分片分组；数据库中的时间只前移不回退</li>
+ *     <li>应用正常关闭时写入剩余数据；进程异常退出时未写入的活跃时间会丢失（活跃时间允许少量丢失）</li>
+ * </ul>
+ * 写入失败的数据放回缓冲，下个周期重试。缓冲最多保留 max-buffered 个用户，数据库持续不可用时不再增长：
+ * 新用户的活跃时间直接丢弃，放回的数据按时间从新到旧保留，放不下的较旧数据丢弃。
+ */
+@Slf4j
+@Component
+public class LastActiveTimeBuffer implements DisposableBean {
+
+    /**
+     * Key: 用户ID
+     * Value: 待写入的最后活跃时间
+     */
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final UserMapper userMapper;
+
+    /**
+     * 分片路由（仅分片模式下存在）
+     */
+    private final ShardRouter shardRouter;
+
+    private final int maxPending;
+
+    private final int maxBuffered;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * 已提交但尚未开始的提前写入任务，避免缓冲满时重复提交
+     */
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    /**
+     * 缓冲已满丢弃的活跃时间数，下次写入时记录日志后清零
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LastActiveTimeBuffer(UserMapper userMapper,
+                                ObjectProvider<ShardRouter> shardRouter,
+                                @Value("${user.last-active.flush-interval:5s}") Duration flushInterval,
+                                @Value("${user.last-active.max-pending:10000}") int maxPending,
+                                @Value("${user.last-active.max-buffered:100000}") int maxBuffered,
+                                @Value("${user.last-active.batch-size:500}") int batchSize) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("user.last-active.flush-interval必须大于0: " + flushInterval);
+        }
+        if (maxPending <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("user.last-active.max-pending和batch-size必须大于0");
+        }
+        if (maxBuffered < maxPending) {
+            throw new IllegalArgumentException("user.last-active.max-buffered不能小于max-pending: " + maxBuffered);
+        }
+        this.userMapper = userMapper;
+        this.shardRouter = shardRouter.getIfAvailable();
+        this.maxPending = maxPending;
+        this.maxBuffered = maxBuffered;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-active-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("最后活跃时间写缓冲已启用: flushInterval={}, maxPending={}, maxBuffered={}, batchSize={}",
+                flushInterval, maxPending, maxBuffered, batchSize);
+    }
+
+    /**
+     * 记录用户最后活跃时间（只保留较新的时间），不访问数据库；缓冲已满时丢弃新用户的活跃时间
+     */
+    public void record(Long userId, LocalDateTime lastActiveTime) {
+        if (userId == null || lastActiveTime == null) {
+            return;
+        }
+        if (!mergeIfRoom(userId, lastActiveTime)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (pending.size() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    earlyFlushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // 正在关闭，剩余数据由 destroy 写入
+                earlyFlushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 待写入的用户数
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 把缓冲中的活跃时间写入数据库
+     *
+     * @return 写入的用户数
+     */
+    public synchronized int flush() {
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0) {
+            log.warn("最后活跃时间写缓冲已满（max-buffered: {}），丢弃 {} 个活跃时间", maxBuffered, droppedCount);
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // 逐个取出：取出后新到的活跃时间留在缓冲中，由下一次写入处理
+        List<UserPO> drained = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime lastActiveTime = pending.remove(userId);
+            if (lastActiveTime != null) {
+                UserPO po = new UserPO();
+                po.setId(userId);
+                po.setLastActiveTime(lastActiveTime);
+                drained.add(po);
+            }
+        }
+
+        List<List<UserPO>> batches = partition(drained);
+        int written = 0;
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                write(batches.get(i));
+            } catch (RuntimeException e) {
+                requeue(batches.subList(i, batches.size()));
+                throw e;
+            }
+            written += batches.get(i).size();
+        }
+        log.debug("最后活跃时间已写入, users: {}", written);
+        return written;
+    }
+
+    /**
+     * 写入失败的批次放回缓冲，期间新到的更晚时间优先；超出 max-buffered 时保留较新的活跃时间
+     */
+    private void requeue(List<List<UserPO>> failed) {
+        List<UserPO> users = new ArrayList<>();
+        failed.forEach(users::addAll);
+        users.sort(Comparator.comparing(UserPO::getLastActiveTime).reversed());
+        for (UserPO po : users) {
+            if (!mergeIfRoom(po.getId(), po.getLastActiveTime())) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 已在缓冲中的用户总是合并；新用户仅在未达到 max-buffered 时加入（并发时可能略微超出）
+     */
+    private boolean mergeIfRoom(Long userId, LocalDateTime lastActiveTime) {
+        if (!pending.containsKey(userId) && pending.size() >= maxBuffered) {
+            return false;
+        }
+        pending.merge(userId, lastActiveTime, (current, latest) -> latest.isAfter(current) ? latest : current);
+        return true;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("最后活跃时间写入失败，下个周期重试, pending: {}", pending.size(), e);
+        }
+    }
+
+    private void write(List<UserPO> batch) {
+        if (shardRouter == null) {
+            userMapper.updateLastActiveTimes(batch);
+        } else {
+            ShardContext.runOn(shardRouter.shardOf(batch.get(0).getId()), () -> userMapper.updateLastActiveTimes(batch));
+        }
+    }
+
+    /**
+     * 切分为每批不超过 batch-size 的批次；分片模式下先按分片分组，同一批次只属于一个分片
+     */
+    private List<List<UserPO>> partition(List<UserPO> users) {
+        Collection<List<UserPO>> groups = List.of(users);
+        if (shardRouter != null) {
+            Map<Integer, List<UserPO>> byShard = new TreeMap<>();
+            for (UserPO po : users) {
+                byShard.computeIfAbsent(shardRouter.shardOf(po.getId()), shard -> new ArrayList<>()).add(po);
+            }
+            groups = byShard.values();
+        }
+        List<List<UserPO>> batches = new ArrayList<>();
+        for (List<UserPO> group : groups) {
+            for (int from = 0; from < group.size(); from += batchSize) {
+                batches.add(group.subList(from, Math.min(from + batchSize, group.size())));
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * 应用关闭时停止定时写入并写入剩余数据
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("最后活跃时间写入线程未在10秒内结束");
+        }
+        int written = flush();
+        log.info("最后活跃时间写缓冲已关闭, 写入剩余用户数: {}", written);
+    }
+}
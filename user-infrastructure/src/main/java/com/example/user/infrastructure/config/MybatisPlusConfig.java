@@ -0,0 +1,33 @@
+package com.example.user.infrastructure.config;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.DynamicTableNameInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
+import com.example.user.infrastructure.sharding.ShardTableNameHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis Plus 配置
+ * 注册插件：
+ * <ul>
+ *     <li>启用分片（user.sharding.enabled）时改写分片表名</li>
+ *     <li>乐观锁：updateById 时校验并递增 @Version 字段</li>
+ * </ul>
+ */
+@Configuration
+public class MybatisPlusConfig {
+
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor(ObjectProvider<ShardTableNameHandler> shardTableNameHandler) {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        shardTableNameHandler.ifAvailable(handler -> {
+            DynamicTableNameInnerInterceptor dynamicTableName = new DynamicTableNameInnerInterceptor();
+            dynamicTableName.setTableNameHandler(handler);
+            interceptor.addInnerInterceptor(dynamicTableName);
+        });
+        interceptor.addInnerInterceptor(new OptimisticLockerInnerInterceptor());
+        return interceptor;
+    }
+}
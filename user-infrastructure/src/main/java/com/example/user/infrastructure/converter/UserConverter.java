@@ -31,11 +31,12 @@ public class UserConverter {
         po.setStatus(user.getStatus() != null ? user.getStatus().name() : null);
         po.setRegisterTime(user.getRegisterTime());
         po.setLastActiveTime(user.getLastActiveTime());
+        po.setVersion(user.getVersion());
         return po;
     }
 
     /**
-     * 持久化对象转领域对象
+     * 持久化对象转领域对象（同时记录持久化快照）
      */
     public User toDomain(UserPO po) {
         if (po == null) {
@@ -51,6 +52,31 @@ public class UserConverter {
         user.setStatus(po.getStatus() != null ? UserStatus.valueOf(po.getStatus()) : null);
         user.setRegisterTime(po.getRegisterTime());
         user.setLastActiveTime(po.getLastActiveTime());
+        user.setVersion(po.getVersion());
+        user.markPersisted();
+        return user;
+    }
+
+    /**
+     * 复制领域对象（缓存返回副本，避免调用方修改缓存中的实例）
+     * Email、Phone为值对象（约定不可变）、持久化快照创建后不再修改，均直接共享
+     */
+    public User copy(User source) {
+        if (source == null) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(source.getId());
+        user.setUsername(source.getUsername());
+        user.setEmail(source.getEmail());
+        user.setPhone(source.getPhone());
+        user.setPassword(source.getPassword());
+        user.setStatus(source.getStatus());
+        user.setRegisterTime(source.getRegisterTime());
+        user.setLastActiveTime(source.getLastActiveTime());
+        user.setVersion(source.getVersion());
+        user.setPersistedState(source.getPersistedState());
         return user;
     }
 }
@@ -0,0 +1,21 @@
+package com.example.user.infrastructure.dataobject;
+
+import lombok.Data;
+
+/**
+ * 已占用的唯一键
+ * 批量唯一性校验的查询结果
+ */
+@Data
+public class UserKeyPO {
+
+    /**
+     * 唯一键位（邮箱 1、手机号 2、用户名 4）
+     */
+    private Integer keyBit;
+
+    /**
+     * 已占用的值
+     */
+    private String keyValue;
+}
@@ -3,6 +3,7 @@ package com.example.user.infrastructure.dataobject;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -16,9 +17,9 @@ import java.time.LocalDateTime;
 public class UserPO {
 
     /**
-     * 主键ID
+     * 主键ID（插入前由 UserIdGenerator 分配）
      */
-    @TableId(type = IdType.AUTO)
+    @TableId(type = IdType.INPUT)
     private Long id;
 
     /**
@@ -56,6 +57,12 @@ public class UserPO {
      */
     private LocalDateTime lastActiveTime;
 
+    /**
+     * 乐观锁版本号（每次更新加1）
+     */
+    @Version
+    private Integer version;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,68 @@
+package com.example.user.infrastructure.datasource;
+
+import com.example.user.client.exception.SysException;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置（user.datasource.read-write-split.enabled=true 时生效）
+ *
+ * <ul>
+ *     <li>主库：spring.datasource，承担写操作及事务外的读（唯一性校验等需读取最新数据的场景）</li>
+ *     <li>只读库：user.datasource.read-write-split.replicas，承担只读事务中的查询</li>
+ * </ul>
+ * 对外暴露的主数据源为 LazyConnectionDataSourceProxy(ReadWriteRoutingDataSource)，
+ * 事务管理器、MyBatis 及 SQL 初始化均使用该数据源。
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReadWriteSplitProperties.class)
+@ConditionalOnProperty(prefix = "user.datasource.read-write-split", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReadWriteSplitProperties properties) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new SysException("DATASOURCE_INVALID", "已启用读写分离，但未配置只读库");
+        }
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("user-primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadWriteSplitProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("user-replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+
+        log.info("读写分离已启用: primary={}, replicas={}", dataSourceProperties.getUrl(), replicas.size());
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.user.infrastructure.filter;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.user.infrastructure.dataobject.UserPO;
+import com.example.user.infrastructure.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 用户唯一键过滤器
+ * 为 t_user 的三个唯一列（邮箱、手机号、用户名）各维护一个布隆过滤器，
+ * 唯一性校验时"一定不存在"的值直接返回，只有"可能存在"的值才查询数据库
+ *
+ * <ul>
+ *     <li>启动完成后按主键分批扫描全表预热，预热完成前所有查询直接放行到数据库</li>
+ *     <li>本实例的 save/update 写入新值；删除无法从布隆过滤器移除，只会增加误判</li>
+ *     <li>只能感知本实例的写入，默认关闭，只可在单实例部署时开启（user.unique-filter.enabled=true）：
+ *     多实例下其他实例写入的值会被误判为"一定不存在"，跳过唯一性校验，注册退化为数据库唯一约束报错</li>
+ *     <li>分片模式下唯一键查询直接命中全局二级索引表，不使用本过滤器</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class UserUniqueKeyFilter {
+
+    /**
+     * 预热时每批扫描的行数
+     */
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final UserMapper userMapper;
+
+    private final boolean enabled;
+
+    private final BloomFilter emails;
+
+    private final BloomFilter phones;
+
+    private final BloomFilter usernames;
+
+    private volatile boolean ready;
+
+    public UserUniqueKeyFilter(UserMapper userMapper,
+                               @Value("${user.unique-filter.enabled:false}") boolean enabled,
+                               @Value("${user.unique-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${user.unique-filter.fpp:0.01}") double fpp) {
+        this.userMapper = userMapper;
+        this.enabled = enabled;
+        this.emails = new BloomFilter(expectedInsertions, fpp);
+        this.phones = new BloomFilter(expectedInsertions, fpp);
+        this.usernames = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    /**
+     * 启动完成后从数据库预热
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            log.info("用户唯一键过滤器未启用");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<UserPO> batch = userMapper.selectList(new LambdaQueryWrapper<UserPO>()
+                    .select(UserPO::getId, UserPO::getEmail, UserPO::getPhone, UserPO::getUsername)
+                    .gt(UserPO::getId, lastId)
+                    .orderByAsc(UserPO::getId)
+                    .last("LIMIT " + WARM_UP_BATCH_SIZE));
+            for (UserPO po : batch) {
+                put(po.getEmail(), po.getPhone(), po.getUsername());
+            }
+            count += batch.size();
+            if (batch.size() < WARM_UP_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        ready = true;
+
+        log.info("用户唯一键过滤器预热完成: rows={}, bits={}, hashes={}, cost={}ms",
+                count, emails.bitCount(), emails.hashCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 记录新的唯一键（为null的值忽略）
+     */
+    public void put(String email, String phone, String username) {
+        if (email != null) {
+            emails.put(email);
+        }
+        if (phone != null) {
+            phones.put(phone);
+        }
+        if (username != null) {
+            usernames.put(username);
+        }
+    }
+
+    /**
+     * 邮箱是否可能已存在（false表示一定不存在）
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(emails, email);
+    }
+
+    /**
+     * 手机号是否可能已存在（false表示一定不存在）
+     */
+    public boolean mightContainPhone(String phone) {
+        return mightContain(phones, phone);
+    }
+
+    /**
+     * 用户名是否可能已存在（false表示一定不存在）
+     */
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernames, username);
+    }
+
+    private boolean mightContain(BloomFilter filter, String value) {
+        if (!ready || value == null) {
+            return true;
+        }
+        return filter.mightContain(value);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.user.infrastructure.gatewayimpl;
+
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserSearchCriteria;
+import com.example.user.domain.model.UserUniqueKey;
+import com.example.user.infrastructure.converter.UserConverter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 带本地缓存的用户仓储（装饰 {@link UserRepositoryImpl} 或 {@link ShardedUserRepository}）
+ * 面向读多写少的用户详情查询：按ID缓存，容量和过期时间可配置
+ *
+ * <ul>
+ *     <li>读穿透：未命中时由 Caffeine 按Key合并加载，同一热点ID并发未命中只查询一次数据库</li>
+ *     <li>批量查询只对未命中的ID发起一次批量查询</li>
+ *     <li>不存在的ID同样缓存（空值），防止反复穿透；save/saveAll 会失效新ID</li>
+ *     <li>写操作立即失效，处于事务中时提交后再失效一次，避免并发读把旧值写回缓存；
+ *     最后活跃时间（touch）直接更新缓存中的副本，不失效</li>
+ *     <li>返回副本，调用方修改领域对象不会污染缓存</li>
+ *     <li>未命中时始终从主库加载：只读事务（启用读写分离时路由到只读库）中挂起事务后加载，
+ *     避免把只读库的延迟数据（刚注册的用户不存在、刚修改的旧值）写入缓存并保留到过期</li>
+ * </ul>
+ *
+ * 按邮箱、手机号、用户名的查询及唯一键冲突检查用于唯一性校验，需要读取最新数据，不经过缓存；
+ * 条件检索（分页、遍历）结果随数据变化，同样不经过缓存。
+ */
+@Slf4j
+@Primary
+@Repository
+public class CachingUserRepository implements IUserRepository {
+
+    /**
+     * 被装饰的仓储实现的限定名
+     */
+    static final String TARGET = "userRepositoryTarget";
+
+    private final IUserRepository delegate;
+
+    private final UserConverter userConverter;
+
+    /**
+     * Key: 用户ID
+     * Value: 用户（空值表示不存在）
+     */
+    private final Cache<Long, Optional<User>> cache;
+
+    /**
+     * 挂起当前事务执行（事务外的查询路由到主库）
+     */
+    private final TransactionTemplate primaryReads;
+
+    public CachingUserRepository(@Qualifier(TARGET) IUserRepository delegate,
+                                 UserConverter userConverter,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${user.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.userConverter = userConverter;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        log.info("用户缓存已启用: maximumSize={}, expireAfterWrite={}", maximumSize, expireAfterWrite);
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<User> saveAll(List<User> users) {
+        List<User> saved = delegate.saveAll(users);
+        saved.forEach(user -> invalidate(user.getId()));
+        return saved;
+    }
+
+    @Override
+    public User findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Optional<User> cached = cache.get(id, key -> fromPrimary(() -> Optional.ofNullable(delegate.findById(key))));
+        return cached.map(userConverter::copy).orElse(null);
+    }
+
+    @Override
+    public List<User> findByIds(Collection<Long> ids) {
+        Set<Long> keys = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 未命中的ID合并为一次批量查询，不存在的ID同样缓存为空值
+        Map<Long, Optional<User>> cached = cache.getAll(keys, missing -> fromPrimary(() -> {
+            Map<Long, Optional<User>> loaded = new HashMap<>();
+            missing.forEach(id -> loaded.put(id, Optional.empty()));
+            delegate.findByIds(new ArrayList<>(missing)).forEach(user -> loaded.put(user.getId(), Optional.of(user)));
+            return loaded;
+        }));
+        List<User> users = new ArrayList<>(cached.size());
+        cached.values().forEach(user -> user.map(userConverter::copy).ifPresent(users::add));
+        return users;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public User findByPhone(String phone) {
+        return delegate.findByPhone(phone);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public Long findIdByKey(UserUniqueKey key, String value) {
+        return delegate.findIdByKey(key, value);
+    }
+
+    @Override
+    public List<User> search(UserSearchCriteria criteria, Long beforeId, int limit) {
+        return delegate.search(criteria, beforeId, limit);
+    }
+
+    @Override
+    public long scan(UserSearchCriteria criteria, Consumer<User> consumer) {
+        return delegate.scan(criteria, consumer);
+    }
+
+    @Override
+    public Set<UserUniqueKey> findConflictingKeys(String email, String phone, String username) {
+        return delegate.findConflictingKeys(email, phone, username);
+    }
+
+    @Override
+    public Map<UserUniqueKey, Set<String>> findExistingKeys(Collection<String> emails,
+                                                            Collection<String> phones,
+                                                            Collection<String> usernames) {
+        return delegate.findExistingKeys(emails, phones, usernames);
+    }
+
+    @Override
+    public User update(User user) {
+        try {
+            return delegate.update(user);
+        } finally {
+            // 版本冲突时同样失效，重试时重新加载到最新数据
+            invalidate(user.getId());
+        }
+    }
+
+    /**
+     * 活跃时间只更新缓存中的副本，不失效缓存（最频繁的写操作，失效会使缓存形同虚设）
+     */
+    @Override
+    public void touch(User user) {
+        delegate.touch(user);
+        cache.asMap().computeIfPresent(user.getId(), (id, cached) -> cached.map(current -> {
+            User touched = userConverter.copy(current);
+            touched.setLastActiveTime(user.getLastActiveTime());
+            return touched;
+        }));
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        invalidate(id);
+    }
+
+    /**
+     * 加载要写入缓存的数据：处于只读事务中时挂起事务，从主库读取
+     */
+    private <T> T fromPrimary(Supplier<T> loader) {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        return primaryReads.execute(status -> loader.get());
+    }
+
+    /**
+     * 失效缓存：立即失效，事务中再在提交后失效一次
+     */
+    private void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
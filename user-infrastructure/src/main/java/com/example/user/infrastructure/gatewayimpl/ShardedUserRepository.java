@@ -0,0 +1,353 @@
+package com.example.user.infrastructure.gatewayimpl;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.example.user.client.exception.SysException;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserSearchCriteria;
+import com.example.user.domain.model.UserUniqueKey;
+import com.example.user.infrastructure.buffer.LastActiveTimeBuffer;
+import com.example.user.infrastructure.converter.UserConverter;
+import com.example.user.infrastructure.dataobject.UserKeyPO;
+import com.example.user.infrastructure.dataobject.UserPO;
+import com.example.user.infrastructure.id.UserIdGenerator;
+import com.example.user.infrastructure.mapper.UserMapper;
+import com.example.user.infrastructure.mapper.UserShardingMapper;
+import com.example.user.infrastructure.sharding.ShardContext;
+import com.example.user.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 分片用户仓储（user.sharding.enabled=true 时替代 {@link UserRepositoryImpl}）
+ *
+ * <ul>
+ *     <li>用户数据按 {@link ShardRouter} 分布到多张物理表，按ID的读写只访问一个分片</li>
+ *     <li>邮箱、手机号、用户名各有一张全局二级索引表（唯一键 → 用户ID），
+ *     按唯一键查询先查索引再按ID路由，两跳完成，不扫描全部分片；唯一性由索引表主键保证</li>
+ *     <li>ID在插入前由 {@link UserIdGenerator} 分配，写入前即可确定分片</li>
+ *     <li>条件检索向各分片发起相同的游标分页查询后归并；遍历对各分片游标做多路归并，保持按ID升序</li>
+ * </ul>
+ * 写操作同时修改分片表和索引表，在同一事务中执行；更新与持久化快照对比，只写入变化的列，并按版本号做乐观并发控制。
+ */
+@Slf4j
+@Repository
+@Qualifier(CachingUserRepository.TARGET)
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "true")
+public class ShardedUserRepository implements IUserRepository {
+
+    private final UserMapper userMapper;
+    private final UserShardingMapper userShardingMapper;
+    private final UserConverter userConverter;
+    private final ShardRouter shardRouter;
+    private final UserIdGenerator userIdGenerator;
+    private final LastActiveTimeBuffer lastActiveTimeBuffer;
+
+    public ShardedUserRepository(UserMapper userMapper,
+                                 UserShardingMapper userShardingMapper,
+                                 UserConverter userConverter,
+                                 ShardRouter shardRouter,
+                                 UserIdGenerator userIdGenerator,
+                                 LastActiveTimeBuffer lastActiveTimeBuffer) {
+        this.userMapper = userMapper;
+        this.userShardingMapper = userShardingMapper;
+        this.userConverter = userConverter;
+        this.shardRouter = shardRouter;
+        this.userIdGenerator = userIdGenerator;
+        this.lastActiveTimeBuffer = lastActiveTimeBuffer;
+        log.info("用户分片已启用: shards={}, router={}", shardRouter.shardCount(), shardRouter.getClass().getSimpleName());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public User save(User user) {
+        saveAll(List.of(user));
+        return user;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        List<UserPO> pos = new ArrayList<>(users.size());
+        for (User user : users) {
+            if (user.getId() == null) {
+                user.setId(userIdGenerator.nextId());
+            }
+            if (user.getVersion() == null) {
+                user.setVersion(0);
+            }
+            pos.add(userConverter.toDataObject(user));
+        }
+
+        // 先写索引：唯一键冲突在写入分片前暴露
+        for (UserUniqueKey key : UserUniqueKey.values()) {
+            userShardingMapper.insertIndexes(columnOf(key), pos);
+        }
+        groupByShard(pos, UserPO::getId).forEach((shard, group) ->
+                ShardContext.runOn(shard, () -> userMapper.insertBatchWithId(group)));
+        users.forEach(User::markPersisted);
+        return users;
+    }
+
+    @Override
+    public User findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        UserPO po = ShardContext.callOn(shardRouter.shardOf(id), () -> userMapper.selectById(id));
+        return userConverter.toDomain(po);
+    }
+
+    @Override
+    public List<User> findByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<User> users = new ArrayList<>(distinctIds.size());
+        groupByShard(distinctIds, Long::longValue).forEach((shard, group) -> {
+            for (UserPO po : ShardContext.callOn(shard, () -> userMapper.selectBatchIds(group))) {
+                users.add(userConverter.toDomain(po));
+            }
+        });
+        return users;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return findByKey(UserUniqueKey.EMAIL, email);
+    }
+
+    @Override
+    public User findByPhone(String phone) {
+        return findByKey(UserUniqueKey.PHONE, phone);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return findByKey(UserUniqueKey.USERNAME, username);
+    }
+
+    /**
+     * 两跳查询：索引表 → 用户ID → 分片
+     */
+    private User findByKey(UserUniqueKey key, String value) {
+        Long userId = findIdByKey(key, value);
+        return userId != null ? findById(userId) : null;
+    }
+
+    /**
+     * 只查索引表，不访问分片
+     */
+    @Override
+    public Long findIdByKey(UserUniqueKey key, String value) {
+        if (value == null) {
+            return null;
+        }
+        return userShardingMapper.selectUserId(columnOf(key), value);
+    }
+
+    @Override
+    public List<User> search(UserSearchCriteria criteria, Long beforeId, int limit) {
+        String status = UserRepositoryImpl.statusOf(criteria);
+        String usernamePrefix = UserRepositoryImpl.usernamePrefixOf(criteria);
+
+        // 每个分片取 ID < beforeId 的前 limit 条，合并后的前 limit 条即全局结果
+        List<UserPO> merged = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            merged.addAll(ShardContext.callOn(shard, () -> userMapper.selectPageBefore(
+                    status, criteria.registerTimeFrom(), criteria.registerTimeTo(), usernamePrefix, beforeId, limit)));
+        }
+        merged.sort(Comparator.comparing(UserPO::getId).reversed());
+
+        List<User> users = new ArrayList<>(Math.min(limit, merged.size()));
+        for (UserPO po : merged.subList(0, Math.min(limit, merged.size()))) {
+            users.add(userConverter.toDomain(po));
+        }
+        return users;
+    }
+
+    @Override
+    public long scan(UserSearchCriteria criteria, Consumer<User> consumer) {
+        String status = UserRepositoryImpl.statusOf(criteria);
+        String usernamePrefix = UserRepositoryImpl.usernamePrefixOf(criteria);
+
+        List<Cursor<UserPO>> cursors = new ArrayList<>(shardRouter.shardCount());
+        try {
+            // 各分片游标均按ID升序，多路归并后整体仍按ID升序，同一时刻每个分片只持有一行
+            PriorityQueue<ShardHead> heads = new PriorityQueue<>(Comparator.comparing(head -> head.current.getId()));
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                Cursor<UserPO> cursor = userShardingMapper.selectShardCursor(
+                        shard, status, criteria.registerTimeFrom(), criteria.registerTimeTo(), usernamePrefix);
+                cursors.add(cursor);
+                Iterator<UserPO> rows = cursor.iterator();
+                if (rows.hasNext()) {
+                    heads.add(new ShardHead(rows.next(), rows));
+                }
+            }
+
+            long count = 0;
+            while (!heads.isEmpty()) {
+                ShardHead head = heads.poll();
+                consumer.accept(userConverter.toDomain(head.current));
+                count++;
+                if (head.rows.hasNext()) {
+                    head.current = head.rows.next();
+                    heads.add(head);
+                }
+            }
+            return count;
+        } finally {
+            for (Cursor<UserPO> cursor : cursors) {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    throw new SysException("USER_SCAN_FAILED", "关闭用户游标失败", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<UserUniqueKey> findConflictingKeys(String email, String phone, String username) {
+        return UserUniqueKey.fromMask(userShardingMapper.selectConflictMask(email, phone, username));
+    }
+
+    @Override
+    public Map<UserUniqueKey, Set<String>> findExistingKeys(Collection<String> emails,
+                                                            Collection<String> phones,
+                                                            Collection<String> usernames) {
+        Map<UserUniqueKey, Set<String>> existing = new EnumMap<>(UserUniqueKey.class);
+        for (UserUniqueKey key : UserUniqueKey.values()) {
+            existing.put(key, new HashSet<>());
+        }
+
+        List<String> emailsToCheck = distinct(emails);
+        List<String> phonesToCheck = distinct(phones);
+        List<String> usernamesToCheck = distinct(usernames);
+        if (emailsToCheck.isEmpty() && phonesToCheck.isEmpty() && usernamesToCheck.isEmpty()) {
+            return existing;
+        }
+
+        for (UserKeyPO key : userShardingMapper.selectExistingKeys(emailsToCheck, phonesToCheck, usernamesToCheck)) {
+            existing.get(UserUniqueKey.fromBit(key.getKeyBit())).add(key.getKeyValue());
+        }
+        return existing;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public User update(User user) {
+        UserPO po = userConverter.toDataObject(user);
+        int shard = shardRouter.shardOf(po.getId());
+        UserPO snapshot = userConverter.toDataObject(user.getPersistedState());
+        LambdaUpdateWrapper<UserPO> changes = snapshot != null ? UserRepositoryImpl.changedColumns(snapshot, po) : null;
+        if (snapshot != null && changes == null) {
+            return user;
+        }
+        // 没有快照时读取当前行以维护索引，整行更新
+        UserPO old = snapshot != null ? snapshot : ShardContext.callOn(shard, () -> userMapper.selectById(po.getId()));
+
+        if (old != null) {
+            // 唯一键变化时同步索引：先写新值（冲突即失败），再删旧值
+            for (UserUniqueKey key : UserUniqueKey.values()) {
+                String newValue = keyOf(po, key);
+                String oldValue = keyOf(old, key);
+                if (newValue != null && !newValue.equals(oldValue)) {
+                    userShardingMapper.insertIndexes(columnOf(key), List.of(po));
+                    userShardingMapper.deleteIndex(columnOf(key), oldValue, po.getId());
+                }
+            }
+        }
+        int rows = ShardContext.callOn(shard,
+                () -> changes != null ? userMapper.update(changes) : userMapper.updateById(po));
+        // 版本冲突时抛出异常，事务回滚撤销上面的索引变更
+        UserRepositoryImpl.checkVersion(rows, user);
+        user.markPersisted();
+        return user;
+    }
+
+    @Override
+    public void touch(User user) {
+        lastActiveTimeBuffer.record(user.getId(), user.getLastActiveTime());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void delete(Long id) {
+        int shard = shardRouter.shardOf(id);
+        UserPO old = ShardContext.callOn(shard, () -> userMapper.selectById(id));
+        if (old == null) {
+            return;
+        }
+        ShardContext.runOn(shard, () -> userMapper.deleteById(id));
+        for (UserUniqueKey key : UserUniqueKey.values()) {
+            userShardingMapper.deleteIndex(columnOf(key), keyOf(old, key), id);
+        }
+    }
+
+    private <T> Map<Integer, List<T>> groupByShard(Collection<T> items, ToLongFunction<T> idOf) {
+        Map<Integer, List<T>> groups = new TreeMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(shardRouter.shardOf(idOf.applyAsLong(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * 索引表列名（同时用于拼接索引表名），只会取 email、phone、username
+     */
+    private static String columnOf(UserUniqueKey key) {
+        return UserRepositoryImpl.columnOf(key);
+    }
+
+    private static String keyOf(UserPO po, UserUniqueKey key) {
+        return switch (key) {
+            case EMAIL -> po.getEmail();
+            case PHONE -> po.getPhone();
+            case USERNAME -> po.getUsername();
+        };
+    }
+
+    private static List<String> distinct(Collection<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * 多路归并中某个分片游标的当前行
+     */
+    private static final class ShardHead {
+
+        private UserPO current;
+
+        private final Iterator<UserPO> rows;
+
+        ShardHead(UserPO current, Iterator<UserPO> rows) {
+            this.current = current;
+            this.rows = rows;
+        }
+    }
+}
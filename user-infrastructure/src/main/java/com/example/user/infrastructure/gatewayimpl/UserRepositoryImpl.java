@@ -1,42 +1,126 @@
 package com.example.user.infrastructure.gatewayimpl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.example.user.client.exception.OptimisticLockException;
+import com.example.user.client.exception.SysException;
 import com.example.user.domain.gateway.IUserRepository;
 import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserSearchCriteria;
+import com.example.user.domain.model.UserUniqueKey;
+import com.example.user.infrastructure.buffer.LastActiveTimeBuffer;
 import com.example.user.infrastructure.converter.UserConverter;
+import com.example.user.infrastructure.dataobject.UserKeyPO;
 import com.example.user.infrastructure.dataobject.UserPO;
+import com.example.user.infrastructure.filter.UserUniqueKeyFilter;
+import com.example.user.infrastructure.id.UserIdGenerator;
 import com.example.user.infrastructure.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /**
  * 用户仓储实现
  * 实现Domain层定义的IUserRepository接口
  * 依赖倒置原则：Infrastructure实现Domain的接口
+ *
+ * 按邮箱、手机号、用户名查询前先经过 {@link UserUniqueKeyFilter}，一定不存在的值不再查询数据库；
+ * 用户ID在插入前由 {@link UserIdGenerator} 分配，插入不依赖数据库回填主键；
+ * 更新时与 {@link User#getPersistedState() 持久化快照} 对比，只写入变化的列，没有变化时不访问数据库；
+ * 按版本号做乐观并发控制，冲突时抛出 {@link OptimisticLockException}
+ *
+ * 单表实现；启用分片（user.sharding.enabled=true）时由 {@link ShardedUserRepository} 替代
  */
 @Repository
+@Qualifier(CachingUserRepository.TARGET)
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements IUserRepository {
 
     private final UserMapper userMapper;
     private final UserConverter userConverter;
+    private final UserUniqueKeyFilter uniqueKeyFilter;
+    private final UserIdGenerator userIdGenerator;
+    private final LastActiveTimeBuffer lastActiveTimeBuffer;
 
     @Override
     public User save(User user) {
+        assignId(user);
         UserPO po = userConverter.toDataObject(user);
         userMapper.insert(po);
-        user.setId(po.getId());
+        uniqueKeyFilter.put(po.getEmail(), po.getPhone(), po.getUsername());
+        user.markPersisted();
         return user;
     }
 
+    @Override
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        List<UserPO> pos = new ArrayList<>(users.size());
+        for (User user : users) {
+            assignId(user);
+            pos.add(userConverter.toDataObject(user));
+        }
+        userMapper.insertBatchWithId(pos);
+        for (UserPO po : pos) {
+            uniqueKeyFilter.put(po.getEmail(), po.getPhone(), po.getUsername());
+        }
+        users.forEach(User::markPersisted);
+        return users;
+    }
+
+    private void assignId(User user) {
+        if (user.getId() == null) {
+            user.setId(userIdGenerator.nextId());
+        }
+        if (user.getVersion() == null) {
+            user.setVersion(0);
+        }
+    }
+
     @Override
     public User findById(Long id) {
         UserPO po = userMapper.selectById(id);
         return userConverter.toDomain(po);
     }
 
+    @Override
+    public List<User> findByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<User> users = new ArrayList<>(distinctIds.size());
+        for (UserPO po : userMapper.selectBatchIds(distinctIds)) {
+            users.add(userConverter.toDomain(po));
+        }
+        return users;
+    }
+
     @Override
     public User findByEmail(String email) {
+        if (!uniqueKeyFilter.mightContainEmail(email)) {
+            return null;
+        }
         LambdaQueryWrapper<UserPO> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(UserPO::getEmail, email);
         UserPO po = userMapper.selectOne(wrapper);
@@ -45,6 +129,9 @@ public class UserRepositoryImpl implements IUserRepository {
 
     @Override
     public User findByPhone(String phone) {
+        if (!uniqueKeyFilter.mightContainPhone(phone)) {
+            return null;
+        }
         LambdaQueryWrapper<UserPO> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(UserPO::getPhone, phone);
         UserPO po = userMapper.selectOne(wrapper);
@@ -53,19 +140,196 @@ public class UserRepositoryImpl implements IUserRepository {
 
     @Override
     public User findByUsername(String username) {
+        if (!uniqueKeyFilter.mightContainUsername(username)) {
+            return null;
+        }
         LambdaQueryWrapper<UserPO> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(UserPO::getUsername, username);
         UserPO po = userMapper.selectOne(wrapper);
         return userConverter.toDomain(po);
     }
 
+    @Override
+    public Long findIdByKey(UserUniqueKey key, String value) {
+        if (value == null) {
+            return null;
+        }
+        boolean mightExist = switch (key) {
+            case EMAIL -> uniqueKeyFilter.mightContainEmail(value);
+            case PHONE -> uniqueKeyFilter.mightContainPhone(value);
+            case USERNAME -> uniqueKeyFilter.mightContainUsername(value);
+        };
+        if (!mightExist) {
+            return null;
+        }
+        return userMapper.selectIdByKey(columnOf(key), value);
+    }
+
+    @Override
+    public List<User> search(UserSearchCriteria criteria, Long beforeId, int limit) {
+        List<UserPO> pos = userMapper.selectPageBefore(
+                statusOf(criteria),
+                criteria.registerTimeFrom(),
+                criteria.registerTimeTo(),
+                usernamePrefixOf(criteria),
+                beforeId,
+                limit);
+        List<User> users = new ArrayList<>(pos.size());
+        for (UserPO po : pos) {
+            users.add(userConverter.toDomain(po));
+        }
+        return users;
+    }
+
+    @Override
+    public long scan(UserSearchCriteria criteria, Consumer<User> consumer) {
+        long count = 0;
+        try (Cursor<UserPO> cursor = userMapper.selectCursor(
+                statusOf(criteria),
+                criteria.registerTimeFrom(),
+                criteria.registerTimeTo(),
+                usernamePrefixOf(criteria))) {
+            for (UserPO po : cursor) {
+                consumer.accept(userConverter.toDomain(po));
+                count++;
+            }
+        } catch (IOException e) {
+            throw new SysException("USER_SCAN_FAILED", "关闭用户游标失败", e);
+        }
+        return count;
+    }
+
+    /**
+     * 对比快照，生成只设置变化列的按ID更新条件（带版本号时同时校验并递增版本号）；没有列变化时返回null
+     */
+    static LambdaUpdateWrapper<UserPO> changedColumns(UserPO before, UserPO after) {
+        LambdaUpdateWrapper<UserPO> wrapper = new LambdaUpdateWrapper<>();
+        boolean changed = setIfChanged(wrapper, UserPO::getUsername, before.getUsername(), after.getUsername());
+        changed |= setIfChanged(wrapper, UserPO::getEmail, before.getEmail(), after.getEmail());
+        changed |= setIfChanged(wrapper, UserPO::getPhone, before.getPhone(), after.getPhone());
+        changed |= setIfChanged(wrapper, UserPO::getPassword, before.getPassword(), after.getPassword());
+        changed |= setIfChanged(wrapper, UserPO::getStatus, before.getStatus(), after.getStatus());
+        changed |= setIfChanged(wrapper, UserPO::getRegisterTime, before.getRegisterTime(), after.getRegisterTime());
+        changed |= setIfChanged(wrapper, UserPO::getLastActiveTime, before.getLastActiveTime(), after.getLastActiveTime());
+        if (!changed) {
+            return null;
+        }
+        wrapper.eq(UserPO::getId, after.getId());
+        if (after.getVersion() != null) {
+            wrapper.set(UserPO::getVersion, after.getVersion() + 1).eq(UserPO::getVersion, after.getVersion());
+        }
+        return wrapper;
+    }
+
+    /**
+     * 校验带版本号的更新结果：未命中任何行说明读取后已被其他操作修改，成功则领域对象的版本号加1
+     * 没有版本号的对象不做并发控制
+     */
+    static void checkVersion(int rows, User user) {
+        if (user.getVersion() == null) {
+            return;
+        }
+        if (rows == 0) {
+            throw new OptimisticLockException(user.getId(), user.getVersion());
+        }
+        user.setVersion(user.getVersion() + 1);
+    }
+
+    private static <V> boolean setIfChanged(LambdaUpdateWrapper<UserPO> wrapper, SFunction<UserPO, V> column,
+                                            V before, V after) {
+        if (Objects.equals(before, after)) {
+            return false;
+        }
+        wrapper.set(column, after);
+        return true;
+    }
+
+    /**
+     * 唯一键对应的列名
+     */
+    static String columnOf(UserUniqueKey key) {
+        return key.name().toLowerCase(Locale.ROOT);
+    }
+
+    static String statusOf(UserSearchCriteria criteria) {
+        return criteria.status() != null ? criteria.status().name() : null;
+    }
+
+    static String usernamePrefixOf(UserSearchCriteria criteria) {
+        String prefix = criteria.usernamePrefix();
+        return prefix != null && !prefix.isEmpty() ? escapeLike(prefix) : null;
+    }
+
+    /**
+     * 转义LIKE通配符，前缀中的 % 和 _ 按字面匹配
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Set<UserUniqueKey> findConflictingKeys(String email, String phone, String username) {
+        // 布隆过滤器判定一定不存在的键不参与查询，三个键都不存在时不访问数据库
+        String emailToCheck = uniqueKeyFilter.mightContainEmail(email) ? email : null;
+        String phoneToCheck = uniqueKeyFilter.mightContainPhone(phone) ? phone : null;
+        String usernameToCheck = uniqueKeyFilter.mightContainUsername(username) ? username : null;
+        if (emailToCheck == null && phoneToCheck == null && usernameToCheck == null) {
+            return EnumSet.noneOf(UserUniqueKey.class);
+        }
+        return UserUniqueKey.fromMask(userMapper.selectConflictMask(emailToCheck, phoneToCheck, usernameToCheck));
+    }
+
+    @Override
+    public Map<UserUniqueKey, Set<String>> findExistingKeys(Collection<String> emails,
+                                                            Collection<String> phones,
+                                                            Collection<String> usernames) {
+        Map<UserUniqueKey, Set<String>> existing = new EnumMap<>(UserUniqueKey.class);
+        for (UserUniqueKey key : UserUniqueKey.values()) {
+            existing.put(key, new HashSet<>());
+        }
+
+        // 布隆过滤器判定一定不存在的值不参与查询，全部不存在时不访问数据库
+        List<String> emailsToCheck = mightExist(emails, uniqueKeyFilter::mightContainEmail);
+        List<String> phonesToCheck = mightExist(phones, uniqueKeyFilter::mightContainPhone);
+        List<String> usernamesToCheck = mightExist(usernames, uniqueKeyFilter::mightContainUsername);
+        if (emailsToCheck.isEmpty() && phonesToCheck.isEmpty() && usernamesToCheck.isEmpty()) {
+            return existing;
+        }
+
+        for (UserKeyPO key : userMapper.selectExistingKeys(emailsToCheck, phonesToCheck, usernamesToCheck)) {
+            existing.get(UserUniqueKey.fromBit(key.getKeyBit())).add(key.getKeyValue());
+        }
+        return existing;
+    }
+
+    private static List<String> mightExist(Collection<String> values, Predicate<String> filter) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(value -> value != null && filter.test(value)).distinct().toList();
+    }
+
     @Override
     public User update(User user) {
         UserPO po = userConverter.toDataObject(user);
-        userMapper.updateById(po);
+        UserPO snapshot = userConverter.toDataObject(user.getPersistedState());
+        LambdaUpdateWrapper<UserPO> changes = snapshot != null ? changedColumns(snapshot, po) : null;
+        if (snapshot != null && changes == null) {
+            return user;
+        }
+        // 没有快照（非本仓储加载的对象）时整行更新，版本号由乐观锁插件校验
+        int rows = changes != null ? userMapper.update(changes) : userMapper.updateById(po);
+        checkVersion(rows, user);
+        uniqueKeyFilter.put(po.getEmail(), po.getPhone(), po.getUsername());
+        user.markPersisted();
         return user;
     }
 
+    @Override
+    public void touch(User user) {
+        lastActiveTimeBuffer.record(user.getId(), user.getLastActiveTime());
+    }
+
     @Override
     public void delete(Long id) {
         userMapper.deleteById(id);
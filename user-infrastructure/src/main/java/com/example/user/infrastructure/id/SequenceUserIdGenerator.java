@@ -0,0 +1,39 @@
+package com.example.user.infrastructure.id;
+
+import com.example.user.infrastructure.mapper.UserMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 基于数据库序列的用户ID生成器（号段模式，user.id-generator.type=sequence）
+ * 每次从序列 seq_user_id 取一个号段的起始值，号段内的ID在内存中分配，每 {@link #BLOCK_SIZE} 个ID访问一次数据库。
+ * ID紧凑连续，但依赖数据库序列，且取号段时需要加锁
+ */
+@Component
+@ConditionalOnProperty(prefix = "user.id-generator", name = "type", havingValue = "sequence")
+public class SequenceUserIdGenerator implements UserIdGenerator {
+
+    /**
+     * 号段大小，必须与 seq_user_id 的 INCREMENT BY 一致
+     */
+    static final int BLOCK_SIZE = 100;
+
+    private final UserMapper userMapper;
+
+    private long next;
+
+    private long limit;
+
+    public SequenceUserIdGenerator(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    @Override
+    public synchronized long nextId() {
+        if (next >= limit) {
+            next = userMapper.selectNextIdBlock();
+            limit = next + BLOCK_SIZE;
+        }
+        return next++;
+    }
+}
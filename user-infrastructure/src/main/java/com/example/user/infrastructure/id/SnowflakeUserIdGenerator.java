@@ -0,0 +1,119 @@
+package com.example.user.infrastructure.id;
+
+import com.example.user.client.exception.SysException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 雪花算法用户ID生成器（默认）
+ *
+ * <pre>
+ * | 1位符号 0 | 41位毫秒时间戳（自 {@link #EPOCH} 起） | 10位机器号 | 12位毫秒内序号 |
+ * </pre>
+ * ID随时间递增，不访问数据库；每个实例每毫秒可分配 4096 个ID。
+ *
+ * <ul>
+ *     <li>无锁：上次分配的（毫秒, 序号）打包在一个 AtomicLong 中，CAS 推进</li>
+ *     <li>序号用尽时借用下一毫秒，不自旋等待时钟</li>
+ *     <li>时钟回拨不超过 max-backward-ms 时沿用上次的时间戳继续分配（ID仍单调递增），超过则拒绝分配</li>
+ *     <li>机器号取 user.id-generator.worker-id，未配置时启动失败；单机或开发环境可开启 derive-worker-id 由主机地址和进程号推导</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.id-generator", name = "type", havingValue = "snowflake", matchIfMissing = true)
+public class SnowflakeUserIdGenerator implements UserIdGenerator {
+
+    /**
+     * 时间戳起点：2024-01-01T00:00:00Z
+     */
+    static final long EPOCH = 1704067200000L;
+
+    static final int WORKER_ID_BITS = 10;
+
+    static final int SEQUENCE_BITS = 12;
+
+    static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+
+    private final long maxBackwardMillis;
+
+    /**
+     * 上次分配的状态：高位为相对 EPOCH 的毫秒数，低 SEQUENCE_BITS 位为毫秒内序号。
+     * 序号溢出时进位到毫秒位，即借用下一毫秒
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeUserIdGenerator(@Value("${user.id-generator.worker-id:-1}") long workerId,
+                                    @Value("${user.id-generator.derive-worker-id:false}") boolean deriveWorkerId,
+                                    @Value("${user.id-generator.max-backward-ms:1000}") long maxBackwardMillis) {
+        if (workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("user.id-generator.worker-id必须在0-" + MAX_WORKER_ID + "之间: " + workerId);
+        }
+        if (maxBackwardMillis < 0) {
+            throw new IllegalArgumentException("user.id-generator.max-backward-ms不能为负数: " + maxBackwardMillis);
+        }
+        if (workerId < 0) {
+            if (!deriveWorkerId) {
+                // 推导的机器号在多实例间可能相同，会生成重复ID，必须显式配置
+                throw new IllegalArgumentException("未配置user.id-generator.worker-id；"
+                        + "多实例部署必须为每个实例分配不同的机器号，单机或开发环境可设置user.id-generator.derive-worker-id=true");
+            }
+            workerId = deriveWorkerId();
+            log.warn("未配置 user.id-generator.worker-id，按主机地址和进程号推导机器号: {}", workerId);
+        }
+        this.workerId = workerId;
+        this.maxBackwardMillis = maxBackwardMillis;
+        log.info("雪花ID生成器已启用: workerId={}, maxBackwardMs={}", workerId, maxBackwardMillis);
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // 同一毫秒、序号借用了未来的毫秒、或时钟回拨：沿用上次的时间戳继续递增
+                if (lastMillis - now > maxBackwardMillis) {
+                    throw new SysException("CLOCK_MOVED_BACKWARDS",
+                            "系统时钟回拨" + (lastMillis - now) + "ms，超过允许的" + maxBackwardMillis + "ms，拒绝生成ID");
+                }
+                next = last + 1;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << (WORKER_ID_BITS + SEQUENCE_BITS))
+                        | (workerId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 由主机地址和进程号推导机器号（仅适合单机或开发环境）
+     */
+    private static long deriveWorkerId() {
+        int host;
+        try {
+            host = InetAddress.getLocalHost().getHostAddress().hashCode();
+        } catch (UnknownHostException e) {
+            host = 0;
+        }
+        long pid = ProcessHandle.current().pid();
+        return ((host * 31L) ^ pid) & MAX_WORKER_ID;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.user.infrastructure.id;
+
+/**
+ * 用户ID生成器
+ * 在插入前分配用户ID，使分片路由、批量插入不依赖数据库回填自增主键
+ */
+public interface UserIdGenerator {
+
+    /**
+     * 生成下一个用户ID（全局唯一）
+     */
+    long nextId();
+}
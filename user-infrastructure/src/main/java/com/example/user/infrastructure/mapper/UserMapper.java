@@ -1,8 +1,15 @@
 package com.example.user.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.user.infrastructure.dataobject.UserKeyPO;
 import com.example.user.infrastructure.dataobject.UserPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户Mapper
@@ -10,4 +17,64 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserMapper extends BaseMapper<UserPO> {
+
+    /**
+     * 一次查询检查三个唯一键，返回冲突位掩码（邮箱 1、手机号 2、用户名 4）
+     * 参数为null的分支不会命中
+     */
+    int selectConflictMask(@Param("email") String email,
+                           @Param("phone") String phone,
+                           @Param("username") String username);
+
+    /**
+     * 按唯一列只查询用户ID（只读唯一索引，不回表）
+     *
+     * @param column 唯一列名：email、phone、username
+     */
+    Long selectIdByKey(@Param("column") String column, @Param("value") String value);
+
+    /**
+     * 批量检查三个唯一键，返回已被占用的值
+     * 参数为空集合的分支不会命中
+     */
+    List<UserKeyPO> selectExistingKeys(@Param("emails") Collection<String> emails,
+                                       @Param("phones") Collection<String> phones,
+                                       @Param("usernames") Collection<String> usernames);
+
+    /**
+     * 取下一个ID号段的起始值（序列 seq_user_id）
+     */
+    long selectNextIdBlock();
+
+    /**
+     * 多行INSERT批量插入，使用预先分配的ID
+     */
+    int insertBatchWithId(@Param("list") List<UserPO> users);
+
+    /**
+     * 一条语句批量更新最后活跃时间（只使用 id、lastActiveTime）
+     */
+    int updateLastActiveTimes(@Param("list") List<UserPO> users);
+
+    /**
+     * 按条件检索用户，按ID倒序的游标分页（参数为null的条件不生效）
+     *
+     * @param usernamePrefix 已转义LIKE通配符的用户名前缀
+     */
+    List<UserPO> selectPageBefore(@Param("status") String status,
+                                  @Param("registerTimeFrom") LocalDateTime registerTimeFrom,
+                                  @Param("registerTimeTo") LocalDateTime registerTimeTo,
+                                  @Param("usernamePrefix") String usernamePrefix,
+                                  @Param("beforeId") Long beforeId,
+                                  @Param("limit") int limit);
+
+    /**
+     * 按条件逐行读取用户（按ID升序），需在事务内消费
+     *
+     * @param usernamePrefix 已转义LIKE通配符的用户名前缀
+     */
+    Cursor<UserPO> selectCursor(@Param("status") String status,
+                                @Param("registerTimeFrom") LocalDateTime registerTimeFrom,
+                                @Param("registerTimeTo") LocalDateTime registerTimeTo,
+                                @Param("usernamePrefix") String usernamePrefix);
 }
@@ -0,0 +1,63 @@
+package com.example.user.infrastructure.mapper;
+
+import com.example.user.infrastructure.dataobject.UserKeyPO;
+import com.example.user.infrastructure.dataobject.UserPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户分片Mapper
+ * 全局二级索引表（t_user_email_index / t_user_phone_index / t_user_username_index），
+ * 仅在分片模式（user.sharding.enabled）下使用
+ *
+ * 参数 column 只能取 email、phone、username（由调用方从 UserUniqueKey 得出），用于拼接索引表名
+ */
+@Mapper
+public interface UserShardingMapper {
+
+    /**
+     * 按唯一键查找用户ID
+     */
+    Long selectUserId(@Param("column") String column, @Param("value") String value);
+
+    /**
+     * 批量写入索引（唯一键冲突时抛出 DuplicateKeyException）
+     */
+    int insertIndexes(@Param("column") String column, @Param("list") List<UserPO> users);
+
+    /**
+     * 删除索引
+     */
+    int deleteIndex(@Param("column") String column, @Param("value") String value, @Param("userId") Long userId);
+
+    /**
+     * 一次查询检查三个唯一键，返回冲突位掩码（邮箱 1、手机号 2、用户名 4）
+     */
+    int selectConflictMask(@Param("email") String email,
+                           @Param("phone") String phone,
+                           @Param("username") String username);
+
+    /**
+     * 批量检查三个唯一键，返回已被占用的值
+     */
+    List<UserKeyPO> selectExistingKeys(@Param("emails") Collection<String> emails,
+                                       @Param("phones") Collection<String> phones,
+                                       @Param("usernames") Collection<String> usernames);
+
+    /**
+     * 以游标按ID升序遍历单个分片中满足条件的用户（须在事务内使用）
+     *
+     * @param shard 分片序号
+     * @param usernamePrefix 已转义LIKE通配符的用户名前缀
+     */
+    Cursor<UserPO> selectShardCursor(@Param("shard") int shard,
+                                     @Param("status") String status,
+                                     @Param("registerTimeFrom") LocalDateTime registerTimeFrom,
+                                     @Param("registerTimeTo") LocalDateTime registerTimeTo,
+                                     @Param("usernamePrefix") String usernamePrefix);
+}
@@ -0,0 +1,45 @@
+package com.example.user.infrastructure.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按用户ID取模路由
+ * 雪花ID的低位是毫秒内序号，低并发时几乎总是0，直接取模会集中到一个分片，因此先对ID做位混合再取模
+ */
+@Component
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "true")
+public class ModuloShardRouter implements ShardRouter {
+
+    private final int shardCount;
+
+    public ModuloShardRouter(@Value("${user.sharding.table-count:4}") int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("user.sharding.table-count必须大于0: " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardOf(long userId) {
+        return (int) Math.floorMod(mix(userId), (long) shardCount);
+    }
+
+    /**
+     * 64位混合函数（MurmurHash3 fmix64），使ID的每一位都影响取模结果
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53ec4d3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
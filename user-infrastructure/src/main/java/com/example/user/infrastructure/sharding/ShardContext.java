@@ -0,0 +1,49 @@
+package com.example.user.infrastructure.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的目标分片
+ * 由仓储在执行SQL前设置，{@link ShardTableNameHandler} 据此把逻辑表名改写为分片表名
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 在指定分片上执行，结束后恢复原分片（支持嵌套）
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 在指定分片上执行，结束后恢复原分片（支持嵌套）
+     */
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 当前分片，未指定时返回null
+     */
+    static Integer current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.user.infrastructure.sharding;
+
+/**
+ * 分片路由
+ * 决定用户ID落在哪个分片（物理表），替换默认实现即可调整路由策略
+ */
+public interface ShardRouter {
+
+    /**
+     * 分片数
+     */
+    int shardCount();
+
+    /**
+     * 用户ID所在分片，取值范围 [0, shardCount)
+     */
+    int shardOf(long userId);
+}
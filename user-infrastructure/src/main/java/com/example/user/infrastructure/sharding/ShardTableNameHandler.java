@@ -0,0 +1,31 @@
+package com.example.user.infrastructure.sharding;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TableNameHandler;
+import com.example.user.client.exception.SysException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分片表名改写
+ * 配合 DynamicTableNameInnerInterceptor，把SQL中的逻辑表 t_user 改写为当前分片的物理表 t_user_{分片}；
+ * 其他表（全局二级索引表等）保持不变
+ */
+@Component
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "true")
+public class ShardTableNameHandler implements TableNameHandler {
+
+    static final String LOGICAL_TABLE = "t_user";
+
+    @Override
+    public String dynamicTableName(String sql, String tableName) {
+        if (!LOGICAL_TABLE.equalsIgnoreCase(tableName)) {
+            return tableName;
+        }
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            // 分片模式下没有不带分片的 t_user，漏设分片时尽早失败而不是访问不存在的表
+            throw new SysException("SHARD_NOT_SPECIFIED", "访问分片表必须先指定分片: " + sql);
+        }
+        return LOGICAL_TABLE + "_" + shard;
+    }
+}
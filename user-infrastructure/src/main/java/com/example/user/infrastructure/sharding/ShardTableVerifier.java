@@ -0,0 +1,71 @@
+package com.example.user.infrastructure.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 分片表校验
+ * 启动时（建表脚本执行之后）检查数据库中的分片表恰好是 t_user_0 ~ t_user_{table-count - 1}：
+ * 分片表少于 table-count 时路由到缺失的表会在运行时报错，多于 table-count 时多出的表中的用户再也查不到
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user.sharding", name = "enabled", havingValue = "true")
+public class ShardTableVerifier implements SmartInitializingSingleton {
+
+    private static final Pattern SHARD_TABLE = Pattern.compile(
+            ShardTableNameHandler.LOGICAL_TABLE + "_(\\d+)", Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+
+    private final ShardRouter shardRouter;
+
+    public ShardTableVerifier(DataSource dataSource, ShardRouter shardRouter) {
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<Integer> expected = IntStream.range(0, shardRouter.shardCount()).boxed()
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<Integer> actual = shardTables();
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException("user.sharding.table-count=" + shardRouter.shardCount()
+                    + "与数据库中的分片表不一致，已有分片: " + actual + "；请同时调整 db/schema-sharding.sql 或迁移数据");
+        }
+        log.info("分片表校验通过: table-count={}", shardRouter.shardCount());
+    }
+
+    private Set<Integer> shardTables() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, null, new String[]{"TABLE"})) {
+            Set<Integer> shards = new TreeSet<>();
+            while (tables.next()) {
+                Matcher matcher = SHARD_TABLE.matcher(tables.getString("TABLE_NAME"));
+                if (matcher.matches()) {
+                    shards.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+            return shards;
+        } catch (SQLException e) {
+            throw new IllegalStateException("读取分片表失败", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
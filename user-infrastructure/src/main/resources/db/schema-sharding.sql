@@ -0,0 +1,94 @@
+-- 分片模式（user.sharding.enabled=true，profile: sharding）
+-- 用户数据按 hash(用户ID) % 分片数 分布到 t_user_0 ~ t_user_3（hash 为 MurmurHash3 fmix64，见 ModuloShardRouter；分片数与 user.sharding.table-count 一致）
+-- 唯一性由全局二级索引表的主键保证，按邮箱/手机号/用户名查询先查索引表得到用户ID，再按ID路由到分片
+
+-- 用户ID序列（仅 user.id-generator.type=sequence 时使用，INCREMENT BY 即号段大小）
+CREATE SEQUENCE IF NOT EXISTS seq_user_id START WITH 1 INCREMENT BY 100;
+
+-- 全局二级索引
+CREATE TABLE IF NOT EXISTS t_user_email_index (
+    email      VARCHAR(100) PRIMARY KEY COMMENT '邮箱',
+    user_id    BIGINT       NOT NULL COMMENT '用户ID'
+);
+
+CREATE TABLE IF NOT EXISTS t_user_phone_index (
+    phone      VARCHAR(20)  PRIMARY KEY COMMENT '手机号',
+    user_id    BIGINT       NOT NULL COMMENT '用户ID'
+);
+
+CREATE TABLE IF NOT EXISTS t_user_username_index (
+    username   VARCHAR(50)  PRIMARY KEY COMMENT '用户名',
+    user_id    BIGINT       NOT NULL COMMENT '用户ID'
+);
+
+-- 分片 0
+CREATE TABLE IF NOT EXISTS t_user_0 (
+    id         BIGINT PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL COMMENT '用户名',
+    email      VARCHAR(100) NOT NULL COMMENT '邮箱',
+    phone      VARCHAR(20)  NOT NULL COMMENT '手机号',
+    password   VARCHAR(100) NOT NULL COMMENT '密码',
+    status     VARCHAR(20)  NOT NULL DEFAULT 'INACTIVE' COMMENT '用户状态',
+    register_time TIMESTAMP   COMMENT '注册时间',
+    last_active_time TIMESTAMP COMMENT '最后活跃时间',
+    version    INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    create_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+);
+CREATE INDEX IF NOT EXISTS idx_user_0_status_id ON t_user_0 (status, id);
+CREATE INDEX IF NOT EXISTS idx_user_0_register_time ON t_user_0 (register_time);
+CREATE INDEX IF NOT EXISTS idx_user_0_username ON t_user_0 (username);
+
+-- 分片 1
+CREATE TABLE IF NOT EXISTS t_user_1 (
+    id         BIGINT PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL COMMENT '用户名',
+    email      VARCHAR(100) NOT NULL COMMENT '邮箱',
+    phone      VARCHAR(20)  NOT NULL COMMENT '手机号',
+    password   VARCHAR(100) NOT NULL COMMENT '密码',
+    status     VARCHAR(20)  NOT NULL DEFAULT 'INACTIVE' COMMENT '用户状态',
+    register_time TIMESTAMP   COMMENT '注册时间',
+    last_active_time TIMESTAMP COMMENT '最后活跃时间',
+    version    INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    create_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+);
+CREATE INDEX IF NOT EXISTS idx_user_1_status_id ON t_user_1 (status, id);
+CREATE INDEX IF NOT EXISTS idx_user_1_register_time ON t_user_1 (register_time);
+CREATE INDEX IF NOT EXISTS idx_user_1_username ON t_user_1 (username);
+
+-- 分片 2
+CREATE TABLE IF NOT EXISTS t_user_2 (
+    id         BIGINT PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL COMMENT '用户名',
+    email      VARCHAR(100) NOT NULL COMMENT '邮箱',
+    phone      VARCHAR(20)  NOT NULL COMMENT '手机号',
+    password   VARCHAR(100) NOT NULL COMMENT '密码',
+    status     VARCHAR(20)  NOT NULL DEFAULT 'INACTIVE' COMMENT '用户状态',
+    register_time TIMESTAMP   COMMENT '注册时间',
+    last_active_time TIMESTAMP COMMENT '最后活跃时间',
+    version    INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    create_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+);
+CREATE INDEX IF NOT EXISTS idx_user_2_status_id ON t_user_2 (status, id);
+CREATE INDEX IF NOT EXISTS idx_user_2_register_time ON t_user_2 (register_time);
+CREATE INDEX IF NOT EXISTS idx_user_2_username ON t_user_2 (username);
+
+-- 分片 3
+CREATE TABLE IF NOT EXISTS t_user_3 (
+    id         BIGINT PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL COMMENT '用户名',
+    email      VARCHAR(100) NOT NULL COMMENT '邮箱',
+    phone      VARCHAR(20)  NOT NULL COMMENT '手机号',
+    password   VARCHAR(100) NOT NULL COMMENT '密码',
+    status     VARCHAR(20)  NOT NULL DEFAULT 'INACTIVE' COMMENT '用户状态',
+    register_time TIMESTAMP   COMMENT '注册时间',
+    last_active_time TIMESTAMP COMMENT '最后活跃时间',
+    version    INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    create_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+);
+CREATE INDEX IF NOT EXISTS idx_user_3_status_id ON t_user_3 (status, id);
+CREATE INDEX IF NOT EXISTS idx_user_3_register_time ON t_user_3 (register_time);
+CREATE INDEX IF NOT EXISTS idx_user_3_username ON t_user_3 (username);
@@ -1,6 +1,6 @@
 -- 用户表
 CREATE TABLE IF NOT EXISTS t_user (
-    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id         BIGINT PRIMARY KEY,
     username   VARCHAR(50)  NOT NULL UNIQUE COMMENT '用户名',
     email      VARCHAR(100) NOT NULL UNIQUE COMMENT '邮箱',
     phone      VARCHAR(20)  NOT NULL UNIQUE COMMENT '手机号',
@@ -8,8 +8,19 @@ CREATE TABLE IF NOT EXISTS t_user (
     status     VARCHAR(20)  NOT NULL DEFAULT 'INACTIVE' COMMENT '用户状态',
     register_time TIMESTAMP   COMMENT '注册时间',
     last_active_time TIMESTAMP COMMENT '最后活跃时间',
+    version    INT          NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
     create_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
 );
 
 COMMENT ON TABLE t_user IS '用户表';
+
+-- 分页检索索引（按ID倒序的游标分页）
+-- 状态 + ID：按状态筛选时直接沿索引从游标位置向后扫描
+CREATE INDEX IF NOT EXISTS idx_user_status_id ON t_user (status, id);
+-- 注册时间：按注册时间范围筛选（ID随注册时间递增，范围内按ID倒序取一页）
+CREATE INDEX IF NOT EXISTS idx_user_register_time ON t_user (register_time);
+-- 用户名前缀检索使用 username 上的唯一索引
+
+-- 用户ID序列（仅 user.id-generator.type=sequence 时使用，INCREMENT BY 即号段大小）
+CREATE SEQUENCE IF NOT EXISTS seq_user_id START WITH 1 INCREMENT BY 100;
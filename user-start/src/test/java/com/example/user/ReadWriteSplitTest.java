@@ -0,0 +1,131 @@
+package com.example.user;
+
+import com.example.user.api.UserServiceI;
+import com.example.user.client.constant.ErrorCode;
+import com.example.user.client.dto.Response;
+import com.example.user.client.dto.UserDTO;
+import com.example.user.client.dto.UserPageDTO;
+import com.example.user.client.dto.cmd.UserRegisterCmd;
+import com.example.user.client.dto.query.UserByIdQry;
+import com.example.user.client.dto.query.UserPageQry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 读写分离：主库、只读库为两个独立的H2内存库（只读库不同步主库），
+ * 按数据出现在哪个库判断查询实际路由到了哪里
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "user.id-generator.worker-id=1",
+        "spring.datasource.url=" + ReadWriteSplitTest.PRIMARY_URL,
+        "user.datasource.read-write-split.enabled=true",
+        "user.datasource.read-write-split.replicas[0].url=" + ReadWriteSplitTest.REPLICA_URL,
+        "user.datasource.read-write-split.replicas[0].username=sa",
+        "user.datasource.read-write-split.replicas[0].password=",
+        "user.last-active.flush-interval=1h"
+})
+class ReadWriteSplitTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:rw_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:rw_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private UserServiceI userService;
+
+    @BeforeAll
+    static void createReplicaSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema.sql"));
+        }
+    }
+
+    @Test
+    void readOnlyQueriesReadFromReplica() {
+        insertUser(replica, 9_000_001L, "replica_only", "replica_only@example.com", "13900000001");
+        Long registered = register("replica_miss", "replica_miss@example.com", "13900000002");
+
+        assertThat(usernames("replica_")).containsExactly("replica_only");
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM t_user WHERE username = 'replica_only'", Long.class))
+                .isZero();
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM t_user WHERE id = ?", Long.class, registered))
+                .isZero();
+    }
+
+    @Test
+    void registerAndUniquenessChecksUsePrimary() {
+        // 只存在于只读库的邮箱不影响注册：唯一性校验读主库
+        insertUser(replica, 9_000_002L, "stale_owner", "taken@example.com", "13900000003");
+        Long id = register("fresh_owner", "taken@example.com", "13900000004");
+        assertThat(primary.queryForObject("SELECT email FROM t_user WHERE id = ?", String.class, id))
+                .isEqualTo("taken@example.com");
+
+        Response duplicate = userService.register(registerCmd("second_owner", "taken@example.com", "13900000005"));
+        assertThat(duplicate.isSuccess()).isFalse();
+        assertThat(duplicate.getErrCode()).isEqualTo(ErrorCode.EMAIL_ALREADY_EXISTS.getCode());
+    }
+
+    @Test
+    void cacheMissInReadOnlyQueryLoadsFromPrimary() {
+        Long id = register("just_registered", "just_registered@example.com", "13900000006");
+
+        // 只读库没有该用户；缓存未命中从主库加载，且不会把"不存在"缓存下来
+        for (int i = 0; i < 2; i++) {
+            Response response = userService.getById(byId(id));
+            assertThat(response.isSuccess()).isTrue();
+            assertThat(((UserDTO) response.getData()).getUsername()).isEqualTo("just_registered");
+        }
+    }
+
+    private Long register(String username, String email, String phone) {
+        Response response = userService.register(registerCmd(username, email, phone));
+        assertThat(response.isSuccess()).as(response.getErrMessage()).isTrue();
+        return Long.valueOf((String) response.getData());
+    }
+
+    private static UserRegisterCmd registerCmd(String username, String email, String phone) {
+        UserRegisterCmd cmd = new UserRegisterCmd();
+        cmd.setUsername(username);
+        cmd.setEmail(email);
+        cmd.setPhone(phone);
+        cmd.setPassword("secret123");
+        cmd.setSendEmail(false);
+        cmd.setSendSms(false);
+        return cmd;
+    }
+
+    private List<String> usernames(String prefix) {
+        UserPageQry qry = new UserPageQry();
+        qry.setUsernamePrefix(prefix);
+        Response response = userService.page(qry);
+        assertThat(response.isSuccess()).isTrue();
+        return ((UserPageDTO) response.getData()).getUsers().stream().map(UserDTO::getUsername).toList();
+    }
+
+    private static UserByIdQry byId(Long id) {
+        UserByIdQry qry = new UserByIdQry();
+        qry.setUserId(id);
+        return qry;
+    }
+
+    private static void insertUser(JdbcTemplate db, long id, String username, String email, String phone) {
+        db.update("INSERT INTO t_user (id, username, email, phone, password, status, register_time) "
+                + "VALUES (?, ?, ?, ?, 'ENC_secret123', 'ACTIVE', CURRENT_TIMESTAMP)", id, username, email, phone);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.user;
+
+import com.example.user.client.exception.OptimisticLockException;
+import com.example.user.domain.gateway.IUserRepository;
+import com.example.user.domain.model.Email;
+import com.example.user.domain.model.Phone;
+import com.example.user.domain.model.User;
+import com.example.user.domain.model.UserUniqueKey;
+import com.example.user.infrastructure.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 分片仓储：按ID路由、全局二级索引两跳查询、失败时索引与分片一起回滚
+ */
+@ActiveProfiles("sharding")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "user.id-generator.worker-id=1",
+        "spring.datasource.url=jdbc:h2:mem:sharding_test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "user.last-active.flush-interval=1h"
+})
+class ShardedUserRepositoryTest {
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void routesEachUserToTheShardOfItsId() {
+        List<User> users = userRepository.saveAll(IntStream.range(0, 40)
+                .mapToObj(i -> newUser("route" + i, "route" + i + "@example.com", "1370000" + String.format("%04d", i)))
+                .toList());
+
+        Set<Integer> usedShards = new HashSet<>();
+        for (User user : users) {
+            int shard = shardRouter.shardOf(user.getId());
+            usedShards.add(shard);
+            for (int table = 0; table < shardRouter.shardCount(); table++) {
+                assertThat(countInShard(table, user.getId()))
+                        .as("user %d in t_user_%d", user.getId(), table)
+                        .isEqualTo(table == shard ? 1 : 0);
+            }
+            assertThat(userRepository.findById(user.getId()).getUsername()).isEqualTo(user.getUsername());
+        }
+        assertThat(usedShards).hasSize(shardRouter.shardCount());
+    }
+
+    @Test
+    void findsUsersByUniqueKeyThroughTheIndexTables() {
+        User user = userRepository.save(newUser("gsi_user", "gsi@example.com", "13711110000"));
+
+        assertThat(indexedUserId("email", "gsi@example.com")).isEqualTo(user.getId());
+        assertThat(indexedUserId("phone", "13711110000")).isEqualTo(user.getId());
+        assertThat(indexedUserId("username", "gsi_user")).isEqualTo(user.getId());
+
+        assertThat(userRepository.findByEmail("gsi@example.com").getId()).isEqualTo(user.getId());
+        assertThat(userRepository.findByPhone("13711110000").getId()).isEqualTo(user.getId());
+        assertThat(userRepository.findByUsername("gsi_user").getId()).isEqualTo(user.getId());
+        assertThat(userRepository.findIdByKey(UserUniqueKey.EMAIL, "gsi@example.com")).isEqualTo(user.getId());
+        assertThat(userRepository.findByEmail("absent@example.com")).isNull();
+    }
+
+    @Test
+    void rollsBackIndexRowsWhenInsertHitsAUniqueKey() {
+        userRepository.save(newUser("taken_name", "first@example.com", "13722220000"));
+
+        // 邮箱、手机号索引先写入成功，用户名索引冲突，整体回滚
+        assertThatThrownBy(() -> userRepository.save(newUser("taken_name", "second@example.com", "13722220001")))
+                .isInstanceOf(DuplicateKeyException.class);
+
+        assertThat(indexCount("email", "second@example.com")).isZero();
+        assertThat(indexCount("phone", "13722220001")).isZero();
+        assertThat(userRepository.findByEmail("second@example.com")).isNull();
+    }
+
+    @Test
+    void rollsBackIndexRowsWhenUpdateHitsAUniqueKey() {
+        userRepository.save(newUser("owner_a", "owner_a@example.com", "13733330000"));
+        User b = userRepository.save(newUser("owner_b", "owner_b@example.com", "13733330001"));
+
+        User loaded = userRepository.findById(b.getId());
+        loaded.changeEmail("owner_a@example.com");
+        assertThatThrownBy(() -> userRepository.update(loaded)).isInstanceOf(DuplicateKeyException.class);
+
+        assertThat(indexedUserId("email", "owner_b@example.com")).isEqualTo(b.getId());
+        assertThat(userRepository.findById(b.getId()).getEmail().getValue()).isEqualTo("owner_b@example.com");
+    }
+
+    @Test
+    void rollsBackIndexRowsWhenVersionCheckFails() {
+        User saved = userRepository.save(newUser("versioned", "v1@example.com", "13744440000"));
+        User first = userRepository.findById(saved.getId());
+        User stale = userRepository.findById(saved.getId());
+
+        first.changeEmail("v2@example.com");
+        userRepository.update(first);
+
+        stale.changeEmail("v3@example.com");
+        assertThatThrownBy(() -> userRepository.update(stale)).isInstanceOf(OptimisticLockException.class);
+
+        assertThat(indexCount("email", "v3@example.com")).isZero();
+        assertThat(indexedUserId("email", "v2@example.com")).isEqualTo(saved.getId());
+        assertThat(indexCount("email", "v1@example.com")).isZero();
+        User current = userRepository.findById(saved.getId());
+        assertThat(current.getEmail().getValue()).isEqualTo("v2@example.com");
+        assertThat(current.getVersion()).isEqualTo(1);
+    }
+
+    private static User newUser(String username, String email, String phone) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(new Email(email));
+        user.setPhone(new Phone(phone));
+        user.register("ENC_secret123");
+        return user;
+    }
+
+    private long countInShard(int shard, Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_user_" + shard + " WHERE id = ?", Long.class, id);
+    }
+
+    private Long indexedUserId(String column, String value) {
+        return jdbcTemplate.queryForObject(
+                "SELECT user_id FROM t_user_" + column + "_index WHERE " + column + " = ?", Long.class, value);
+    }
+
+    private long indexCount(String column, String value) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM t_user_" + column + "_index WHERE " + column + " = ?", Long.class, value);
+    }
+}